@@ -55,7 +55,7 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({children}) => {
             } catch (error) {
                 console.error('Auth initialization failed:', error);
                 // Clear invalid auth state
-                localStorage.removeItem('token');
+                apiService.clearTokens();
                 setIsAuthenticated(false);
                 setUser(null);
                 setToken(null);
@@ -69,9 +69,8 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({children}) => {
     }, []);
 
     const login = useCallback(async (email: string, password: string) => {
-            const response = await apiService.login({email, password});
+            const response = await apiService.login({email, password}); // stores both tokens
 
-            localStorage.setItem('token', response.token);
             setToken(response.token);
             setIsAuthenticated(true);
 
@@ -83,12 +82,11 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({children}) => {
     }, []);
 
     const logout = useCallback(() => {
-        localStorage.removeItem('token');
         setIsAuthenticated(false);
         setUser(null);
         setToken(null);
         setIsAdmin(false);
-        apiService.logout();
+        void apiService.logout();
     }, []);
 
     // Update apiService token when it changes
@@ -16,6 +16,8 @@ export interface UserProfile {
 export interface AuthResponse {
   token: string;
   expiresIn: number;
+  refreshToken: string;
+  refreshExpiresIn: number;
 }
 
 export interface Category {
@@ -110,9 +112,19 @@ export enum PostStatus {
   PUBLISHED = 'PUBLISHED'
 }
 
+// marks a request that has already been retried once with a refreshed token
+interface RetriableRequestConfig extends InternalAxiosRequestConfig {
+  _retried?: boolean;
+}
+
+// these answer 401 for bad credentials or a dead refresh token, refreshing would not help
+const AUTH_ENDPOINTS = ['/auth/login', '/auth/refresh', '/auth/logout'];
+
 class ApiService {
   private api: AxiosInstance;
   private static instance: ApiService;
+  // one refresh at a time: requests that fail together all wait for the same new token
+  private refreshing: Promise<string> | null = null;
 
   private constructor() {
     this.api = axios.create({
@@ -136,19 +148,63 @@ class ApiService {
       }
     );
 
-    // Add response interceptor for error handling
+    // Add response interceptor for error handling: an expired access token is refreshed and the request retried once
     this.api.interceptors.response.use(
       (response: AxiosResponse) => response,
-      (error: AxiosError) => {
-        if (error.response?.status === 401) {
-          localStorage.removeItem('token');
-          window.location.href = '/login';
+      async (error: AxiosError) => {
+        const original = error.config as RetriableRequestConfig | undefined;
+        const isAuthEndpoint = AUTH_ENDPOINTS.some(path => original?.url?.startsWith(path));
+        if (error.response?.status === 401 && original && !original._retried && !isAuthEndpoint
+            && localStorage.getItem('refreshToken')) {
+          original._retried = true;
+          try {
+            const token = await this.refreshAccessToken();
+            original.headers.Authorization = `Bearer ${token}`;
+            return this.api(original);
+          } catch {
+            this.endSession();
+            return Promise.reject(this.handleError(error));
+          }
+        }
+        if (error.response?.status === 401 && !isAuthEndpoint) {
+          this.endSession();
         }
         return Promise.reject(this.handleError(error));
       }
     );
   }
 
+  private refreshAccessToken(): Promise<string> {
+    if (!this.refreshing) {
+      const refreshToken = localStorage.getItem('refreshToken');
+      // plain axios, so a failing refresh does not come back through the interceptor above
+      this.refreshing = axios.post<AuthResponse>('/api/v1/auth/refresh', { refreshToken })
+        .then(response => {
+          this.storeTokens(response.data);
+          return response.data.token;
+        })
+        .finally(() => {
+          this.refreshing = null;
+        });
+    }
+    return this.refreshing;
+  }
+
+  private storeTokens(auth: AuthResponse): void {
+    localStorage.setItem('token', auth.token);
+    localStorage.setItem('refreshToken', auth.refreshToken);
+  }
+
+  public clearTokens(): void {
+    localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
+  }
+
+  private endSession(): void {
+    this.clearTokens();
+    window.location.href = '/login';
+  }
+
   public static getInstance(): ApiService {
     if (!ApiService.instance) {
       ApiService.instance = new ApiService();
@@ -174,12 +230,21 @@ class ApiService {
   // Auth endpoints
   public async login(credentials: LoginRequest): Promise<AuthResponse> {
     const response: AxiosResponse<AuthResponse> = await this.api.post('/auth/login', credentials);
-    localStorage.setItem('token', response.data.token);
+    this.storeTokens(response.data);
     return response.data;
   }
 
-  public logout(): void {
-    localStorage.removeItem('token');
+  // revokes the whole session on the server, local state is cleared even when that fails
+  public async logout(): Promise<void> {
+    const refreshToken = localStorage.getItem('refreshToken');
+    this.clearTokens();
+    if (refreshToken) {
+      try {
+        await axios.post('/api/v1/auth/logout', { refreshToken });
+      } catch (error) {
+        console.error('Logout failed:', error);
+      }
+    }
   }
 
   // Posts endpoints
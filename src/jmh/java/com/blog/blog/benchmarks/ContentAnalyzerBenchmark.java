@@ -0,0 +1,48 @@
+package com.blog.blog.benchmarks;
+
+import com.blog.blog.content.ContentAnalysis;
+import com.blog.blog.content.ContentAnalyzer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// ContentAnalyzer against what createPost/updatePost did before: split on whitespace for the reading time
+// and two regex passes for the excerpt, on a ~50 KB TipTap post
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentAnalyzerBenchmark {
+
+    private String content;
+
+    @Setup
+    public void setUp() {
+        StringBuilder html = new StringBuilder();
+        int section = 0;
+        while (html.length() < 50_000) {
+            html.append("<h2>Section ").append(++section).append(": what to eat before a run</h2>")
+                    .append("<p>Complex <strong>carbohydrates</strong> such as oats, brown rice and sweet potatoes release ")
+                    .append("energy slowly&nbsp;&mdash; eat them <em>two to three hours</em> before training.</p>")
+                    .append("<ul><li><p>Oats with banana</p></li><li><p>Rice &amp; lentils</p></li><li><p>Toast with honey</p></li></ul>")
+                    .append("<blockquote><p>Hydration matters as much as food: drink 400-600 ml of water beforehand.</p></blockquote>");
+        }
+        content = html.toString();
+    }
+
+    @Benchmark
+    public ContentAnalysis contentAnalyzer() {
+        return ContentAnalyzer.analyze(content);
+    }
+
+    @Benchmark
+    public Object splitAndRegex() {
+        int wordCount = content.trim().split("\\s+").length;
+        int readingTime = (int) Math.ceil((double) wordCount / 200);
+        String text = content.replaceAll("<[^>]*>", " ").replaceAll("\\s+", " ").trim();
+        String excerpt = text.length() <= 300 ? text : text.substring(0, 300).trim() + "...";
+        return new Object[]{readingTime, excerpt};
+    }
+}
@@ -0,0 +1,67 @@
+package com.blog.blog.benchmarks;
+
+import com.blog.blog.BlogApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// cold start to the first answered request: each fork is a fresh jvm that starts the app on a free port and times
+// SpringApplication.run plus one GET of the published posts. by default the migrations run against an in-memory h2 in
+// postgres mode; any of the properties below can be overridden for a real database, e.g.
+// -Djmh.args="StartupBenchmark -jvmArgsAppend '-Dspring.datasource.url=jdbc:postgresql://localhost:5432/blog -Dspring.datasource.driver-class-name=org.postgresql.Driver ...'"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("server.port", "0");
+        DEFAULTS.put("spring.datasource.url", "jdbc:h2:mem:startup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        DEFAULTS.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        DEFAULTS.put("spring.datasource.username", "sa");
+        DEFAULTS.put("spring.datasource.password", "");
+        DEFAULTS.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        DEFAULTS.put("spring.jpa.hibernate.ddl-auto", "none");
+        DEFAULTS.put("spring.flyway.enabled", "true");
+        DEFAULTS.put("spring.jpa.show-sql", "false");
+    }
+
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        // command line arguments, so they win over the test application.properties on the benchmark classpath
+        String[] args = DEFAULTS.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + System.getProperty(e.getKey(), e.getValue()))
+                .toArray(String[]::new);
+        context = SpringApplication.run(BlogApplication.class, args);
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/posts")).build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("First request answered " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.blog.blog.benchmarks;
+
+import com.blog.blog.ids.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// batched inserts into a bookings-like table keyed by random (v4, what GenerationType.UUID gives) or time-ordered (v7)
+// uuids. one op is a committed batch of 1000 rows, the table keeps growing over the iterations. on postgres the size
+// of the primary key index is printed at the end of each trial, e.g.
+// -Djmh.args="UuidInsertBenchmark -jvmArgsAppend '-Dbench.jdbc.url=jdbc:postgresql://localhost:5432/blog -Dbench.jdbc.user=postgres -Dbench.jdbc.password=...'"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"random", "v7"})
+    public String generator;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private long rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:h2:mem:uuids;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE"),
+                System.getProperty("bench.jdbc.user", "sa"),
+                System.getProperty("bench.jdbc.password", ""));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists uuid_insert_bench");
+            statement.execute("create table uuid_insert_bench (id uuid primary key, date_time timestamp(6) not null, email varchar(255) not null)");
+        }
+        connection.commit();
+        insert = connection.prepareStatement("insert into uuid_insert_bench (id, date_time, email) values (?, ?, ?)");
+    }
+
+    @Benchmark
+    public void insertBatch() throws Exception {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, "v7".equals(generator) ? UuidV7.next() : UUID.randomUUID());
+            insert.setTimestamp(2, now);
+            insert.setString(3, "client" + (rows + i) + "@example.com");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+        rows += BATCH_SIZE;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet size = statement.executeQuery("select pg_relation_size('uuid_insert_bench_pkey')")) {
+                size.next();
+                long bytes = size.getLong(1);
+                System.out.printf("%n%s: %d rows, primary key index %d KB, %.1f bytes per row%n",
+                        generator, rows, bytes / 1024, (double) bytes / rows);
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table uuid_insert_bench");
+        }
+        connection.commit();
+        connection.close();
+    }
+}
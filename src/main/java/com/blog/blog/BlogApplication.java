@@ -1,6 +1,5 @@
 package com.blog.blog;
 
-import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -9,9 +8,7 @@ import java.net.URI;
 @SpringBootApplication
 public class BlogApplication {
 	public static void main(String[] args) {
-
-		Dotenv dotenv = Dotenv.configure().load();
-		dotenv.entries().forEach(e -> System.setProperty(e.getKey(), e.getValue()));
+		// .env is read by DotenvEnvironmentPostProcessor
 		String databaseUrl = System.getenv("DATABASE_URL");
 
 		if (databaseUrl != null && databaseUrl.startsWith("postgres://")) {
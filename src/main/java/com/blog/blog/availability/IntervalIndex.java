@@ -0,0 +1,152 @@
+package com.blog.blog.availability;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// half-open [start, end) intervals by key, each key's sorted by start. an interval overlapping [from, to) must start
+// after from minus the longest interval under its key, so a query only walks that window of the sorted set
+public class IntervalIndex {
+
+    private static final Comparator<Interval> BY_START = Comparator.comparingLong(Interval::start)
+            .thenComparing(Interval::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Timeline> timelines = new HashMap<>();
+    private final Map<UUID, Interval> byId = new HashMap<>();
+
+    public void put(UUID id, String key, long start, long end) {
+        lock.writeLock().lock();
+        try {
+            unlink(byId.remove(id));
+            Interval interval = new Interval(id, key, start, end);
+            byId.put(id, interval);
+            Timeline timeline = timelines.computeIfAbsent(key, k -> new Timeline());
+            timeline.intervals.add(interval);
+            timeline.maxLength = Math.max(timeline.maxLength, end - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            unlink(byId.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // drops what ended before time, nothing can be booked there any more
+    public int removeEndingBefore(long time) {
+        lock.writeLock().lock();
+        try {
+            List<Interval> ended = byId.values().stream().filter(interval -> interval.end() <= time).toList();
+            ended.forEach(interval -> unlink(byId.remove(interval.id())));
+            return ended.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean overlaps(String key, long start, long end) {
+        lock.readLock().lock();
+        try {
+            Timeline timeline = timelines.get(key);
+            if (timeline == null) {
+                return false;
+            }
+            for (Interval interval : timeline.window(start, end)) {
+                if (interval.end() > start) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // the candidate starts, sorted, whose [start, start + length) overlaps nothing under key. one pass over both
+    public List<Long> free(String key, long[] candidateStarts, long length) {
+        List<Long> free = new ArrayList<>(candidateStarts.length);
+        if (candidateStarts.length == 0) {
+            return free;
+        }
+        lock.readLock().lock();
+        try {
+            Timeline timeline = timelines.get(key);
+            if (timeline == null) {
+                for (long start : candidateStarts) {
+                    free.add(start);
+                }
+                return free;
+            }
+            List<Interval> taken = new ArrayList<>(timeline.window(candidateStarts[0],
+                    candidateStarts[candidateStarts.length - 1] + length));
+            int first = 0; // taken before this index end before the current candidate, so before all later ones too
+            for (long start : candidateStarts) {
+                long end = start + length;
+                while (first < taken.size() && taken.get(first).end() <= start) {
+                    first++;
+                }
+                boolean overlapped = false;
+                for (int i = first; i < taken.size() && taken.get(i).start() < end; i++) {
+                    if (taken.get(i).end() > start) {
+                        overlapped = true;
+                        break;
+                    }
+                }
+                if (!overlapped) {
+                    free.add(start);
+                }
+            }
+            return free;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(Interval interval) {
+        if (interval == null) {
+            return;
+        }
+        Timeline timeline = timelines.get(interval.key());
+        timeline.intervals.remove(interval);
+        if (timeline.intervals.isEmpty()) {
+            timelines.remove(interval.key());
+        }
+    }
+
+    private record Interval(UUID id, String key, long start, long end) {
+    }
+
+    private static final class Timeline {
+
+        private final NavigableSet<Interval> intervals = new TreeSet<>(BY_START);
+        private long maxLength; // only grows; removing the longest interval just widens later windows a little
+
+        NavigableSet<Interval> window(long from, long to) {
+            Interval low = new Interval(new UUID(Long.MIN_VALUE, Long.MIN_VALUE), "", from - maxLength, 0);
+            Interval high = new Interval(new UUID(Long.MIN_VALUE, Long.MIN_VALUE), "", to, 0);
+            return intervals.subSet(low, false, high, false);
+        }
+    }
+}
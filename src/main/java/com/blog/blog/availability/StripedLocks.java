@@ -0,0 +1,47 @@
+package com.blog.blog.availability;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// a fixed array of locks shared out by key hash, so any number of keys costs a constant amount of memory.
+// several keys are always locked in stripe order, two callers wanting overlapping sets cannot deadlock
+public class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // the locks taken, to hand back to unlock
+    public List<Lock> lock(Collection<?> keys) {
+        List<Lock> locked = new ArrayList<>(keys.size());
+        keys.stream()
+                .mapToInt(this::stripe)
+                .distinct()
+                .sorted()
+                .forEach(stripe -> {
+                    stripes[stripe].lock();
+                    locked.add(stripes[stripe]);
+                });
+        return locked;
+    }
+
+    public static void unlock(List<Lock> locked) {
+        for (int i = locked.size() - 1; i >= 0; i--) {
+            locked.get(i).unlock();
+        }
+    }
+
+    private int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,43 @@
+package com.blog.blog.config;
+
+import com.blog.blog.domain.entities.User;
+import com.blog.blog.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+// creates the admin from ADMIN_EMAIL and ADMIN_PASSWORD once the context is up, instead of while beans are created
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdminUserSeeder implements ApplicationRunner {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String adminEmail = environment.getProperty("ADMIN_EMAIL");
+        String adminPassword = environment.getProperty("ADMIN_PASSWORD");
+
+        if (adminEmail == null || adminPassword == null) {
+            log.info("ADMIN_EMAIL or ADMIN_PASSWORD is missing; skipping admin user creation.");
+            return;
+        }
+        if (userRepository.existsByEmail(adminEmail)) {
+            return;
+        }
+        userRepository.save(User.builder()
+                .name("Nico Asaftei")
+                .email(adminEmail)
+                .password(passwordEncoder.encode(adminPassword))
+                .isAdmin(true)
+                .build());
+        log.info("Created admin user {}", adminEmail);
+    }
+}
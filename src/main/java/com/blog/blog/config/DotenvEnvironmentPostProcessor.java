@@ -0,0 +1,25 @@
+package com.blog.blog.config;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import io.github.cdimascio.dotenv.DotenvEntry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// reads .env once, before any bean exists, and makes its entries ordinary properties (e.g. ${JWT_SECRET}).
+// it is added last, so a real environment variable or system property of the same name wins
+public class DotenvEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Map<String, Object> entries = new HashMap<>();
+        for (DotenvEntry entry : Dotenv.configure().ignoreIfMissing().load().entries(Dotenv.Filter.DECLARED_IN_ENV_FILE)) {
+            entries.put(entry.getKey(), entry.getValue());
+        }
+        environment.getPropertySources().addLast(new MapPropertySource("dotenv", entries));
+    }
+}
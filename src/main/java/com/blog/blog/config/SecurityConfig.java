@@ -1,32 +1,40 @@
 package com.blog.blog.config;
 
 
-import com.blog.blog.domain.entities.User;
+import com.blog.blog.controllers.PostController;
 import com.blog.blog.repositories.UserRepository;
 import com.blog.blog.security.AuthenticationService;
 import com.blog.blog.security.BlogUserDetails;
 import com.blog.blog.security.BlogUserDetailsService;
+import com.blog.blog.security.CalibratedBcryptPasswordEncoder;
 import com.blog.blog.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationConverter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import io.github.cdimascio.dotenv.Dotenv;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Map;
 
 @Configuration
 public class SecurityConfig {
@@ -37,27 +45,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    public UserDetailsService userDetailsService(UserRepository userRepository){
-        BlogUserDetailsService blogUserDetailsService = new BlogUserDetailsService(userRepository);
-
-        String adminEmail = System.getenv("ADMIN_EMAIL");
-        String adminPassword = System.getenv("ADMIN_PASSWORD");
-
-        if (adminEmail != null && adminPassword != null) {
-            userRepository.findByEmail(adminEmail).orElseGet(() -> {
-                User adminUser = User.builder()
-                        .name("Nico Asaftei")
-                        .email(adminEmail)
-                        .password(passwordEncoder().encode(adminPassword))
-                        .isAdmin(true)
-                        .build();
-                return userRepository.save(adminUser);
-            });
-        } else {
-            System.out.println("ADMIN_EMAIL or ADMIN_PASSWORD env vars are missing; skipping admin user creation.");
-        }
-
-        return blogUserDetailsService;
+    public BlogUserDetailsService userDetailsService(UserRepository userRepository){
+        // the admin user is created by AdminUserSeeder once the context is up
+        return new BlogUserDetailsService(userRepository);
     }
 
 
@@ -66,9 +56,11 @@ public class SecurityConfig {
                                                    JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
         http
                 .authorizeHttpRequests(auth->auth
-                        //frontend routes
-                        .requestMatchers("/**").permitAll()
+                        // the dispatch that finishes a streamed export was authorized when the request came in
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/v1/auth/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/auth/profile").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/v1/posts/drafts").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/v1/posts").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/posts/**").hasRole("ADMIN")
@@ -76,12 +68,17 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/posts/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/categories/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/tags/**").permitAll()
-                        .requestMatchers("/api/v1/contact").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/contact").permitAll() // the contact form is public
+                        .requestMatchers("/api/v1/contact/**").authenticated()
                         .requestMatchers("/api/v1/appointments").authenticated()
-                        .requestMatchers("api/v1/bookings/**").authenticated()
-                        .anyRequest().authenticated()
+                        .requestMatchers("/api/v1/bookings/**").authenticated()
+                        .requestMatchers("/api/**").authenticated()
+                        //frontend routes, after the api so none of its rules is shadowed
+                        .anyRequest().permitAll()
                 )
                 .csrf(csrf -> csrf.disable())
+                // a missing or expired access token is a 401, which the frontend answers with a refresh
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 ).addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -95,15 +92,25 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:5173"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(PostController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
 
+    // bcrypt at a fixed cost, or the highest cost that hashes within hash-budget here, measured in the background.
+    // hashes under any other id the default factory knows ({noop}, {pbkdf2}, ...) still match, and like a bcrypt hash
+    // below that cost are rehashed through BlogUserDetailsService.updatePassword on the next login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder(); // default  password bcrypt
+    public PasswordEncoder passwordEncoder(@Value("${blog.password.cost:0}") int cost,
+                                           @Value("${blog.password.hash-budget:PT0.25S}") Duration hashBudget,
+                                           @Value("${blog.password.min-cost:10}") int minCost,
+                                           @Value("${blog.password.max-cost:16}") int maxCost) {
+        PasswordEncoder bcrypt = cost > 0 ? new BCryptPasswordEncoder(cost) : new CalibratedBcryptPasswordEncoder(hashBudget, minCost, maxCost);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return encoder;
     }
 
     @Bean
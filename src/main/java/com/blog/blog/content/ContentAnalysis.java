@@ -0,0 +1,10 @@
+package com.blog.blog.content;
+
+import com.blog.blog.domain.PostHeading;
+
+import java.util.List;
+
+public record ContentAnalysis(int wordCount, int readingTime, String excerpt, List<PostHeading> toc) {
+
+    public static final ContentAnalysis EMPTY = new ContentAnalysis(0, 0, "", List.of());
+}
@@ -0,0 +1,235 @@
+package com.blog.blog.content;
+
+import com.blog.blog.domain.PostHeading;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// one pass over TipTap html, run when a post is written: counts the words of the text (not the markup), keeps the first
+// few hundred characters as the excerpt and collects h1-h6 for the table of contents. No regex, no split, and the
+// only buffers are the bounded excerpt and heading builders.
+public final class ContentAnalyzer {
+
+    private static final int WORDS_PER_MINUTE = 200;
+    private static final int EXCERPT_LENGTH = 300;
+    private static final int MAX_HEADING_LENGTH = 200;
+    private static final int MAX_ENTITY_LENGTH = 10;
+    // tags that end a word; inline ones like <strong> or <a> do not, "<em>re</em>write" is one word
+    private static final String[] BLOCK_TAGS = {
+            "p", "br", "div", "li", "ul", "ol", "blockquote", "pre", "hr", "img",
+            "table", "tr", "td", "th", "figure", "figcaption", "section"
+    };
+
+    private static final String[] ENTITY_NAMES = {"amp", "lt", "gt", "quot", "apos", "nbsp", "mdash", "ndash", "hellip", "lsquo", "rsquo", "ldquo", "rdquo"};
+    private static final char[] ENTITY_VALUES = {'&', '<', '>', '"', '\'', '\u00A0', '\u2014', '\u2013', '\u2026', '\u2018', '\u2019', '\u201C', '\u201D'};
+
+    private final String html;
+    private final StringBuilder excerpt = new StringBuilder(EXCERPT_LENGTH + 1);
+    private final StringBuilder heading = new StringBuilder();
+    private final List<PostHeading> toc = new ArrayList<>();
+    private final Set<String> anchors = new HashSet<>();
+    private int wordCount;
+    private boolean inWord;
+    private boolean pendingSpace;
+    private int headingLevel;
+
+    private ContentAnalyzer(String html) {
+        this.html = html;
+    }
+
+    public static ContentAnalysis analyze(String html) {
+        if (html == null || html.isEmpty()) {
+            return ContentAnalysis.EMPTY;
+        }
+        return new ContentAnalyzer(html).run();
+    }
+
+    private ContentAnalysis run() {
+        int length = html.length();
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                i = tag(i);
+            } else if (c == '&') {
+                i = entity(i);
+            } else {
+                text(c);
+                i++;
+            }
+        }
+        int readingTime = (int) Math.ceil((double) wordCount / WORDS_PER_MINUTE);
+        return new ContentAnalysis(wordCount, readingTime, excerptText(), List.copyOf(toc));
+    }
+
+    // returns the index after the tag; a '<' that does not start one is plain text
+    private int tag(int start) {
+        if (html.startsWith("<!--", start)) {
+            int end = html.indexOf("-->", start + 4);
+            return end < 0 ? html.length() : end + 3;
+        }
+        int end = html.indexOf('>', start);
+        char next = start + 1 < html.length() ? html.charAt(start + 1) : ' ';
+        if (end < 0 || !(Character.isLetter(next) || next == '/' || next == '!')) { // like browsers, "a < b" is text
+            text('<');
+            return start + 1;
+        }
+        int nameStart = start + 1;
+        boolean closing = nameStart < end && html.charAt(nameStart) == '/';
+        if (closing) {
+            nameStart++;
+        }
+        int nameEnd = nameStart;
+        while (nameEnd < end && Character.isLetterOrDigit(html.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        int level = headingLevel(nameStart, nameEnd);
+        if (level > 0) {
+            boundary();
+            if (closing) {
+                closeHeading();
+            } else {
+                headingLevel = level;
+                heading.setLength(0);
+            }
+        } else if (isBlockTag(nameStart, nameEnd)) {
+            boundary();
+        }
+        return end + 1;
+    }
+
+    private int entity(int start) {
+        int end = html.indexOf(';', start);
+        if (end < 0 || end - start > MAX_ENTITY_LENGTH) {
+            text('&');
+            return start + 1;
+        }
+        int codePoint = decodeEntity(start + 1, end);
+        if (codePoint < 0) {
+            text('&');
+            return start + 1;
+        }
+        if (Character.isBmpCodePoint(codePoint)) {
+            text((char) codePoint);
+        } else {
+            text(Character.highSurrogate(codePoint));
+            text(Character.lowSurrogate(codePoint));
+        }
+        return end + 1;
+    }
+
+    private int decodeEntity(int start, int end) {
+        int length = end - start;
+        for (int i = 0; i < ENTITY_NAMES.length; i++) {
+            if (ENTITY_NAMES[i].length() == length && html.startsWith(ENTITY_NAMES[i], start)) {
+                return ENTITY_VALUES[i];
+            }
+        }
+        if (length < 2 || html.charAt(start) != '#') {
+            return -1;
+        }
+        try {
+            boolean hex = html.charAt(start + 1) == 'x' || html.charAt(start + 1) == 'X';
+            int codePoint = hex ? Integer.parseInt(html, start + 2, end, 16) : Integer.parseInt(html, start + 1, end, 10);
+            return Character.isValidCodePoint(codePoint) ? codePoint : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void text(char c) {
+        if (Character.isWhitespace(c) || c == ' ') {
+            boundary();
+            return;
+        }
+        if (!inWord) {
+            wordCount++;
+            inWord = true;
+        }
+        if (excerpt.length() <= EXCERPT_LENGTH) {
+            append(excerpt, c);
+        }
+        if (headingLevel > 0 && heading.length() < MAX_HEADING_LENGTH) {
+            append(heading, c);
+        }
+        pendingSpace = false;
+    }
+
+    private void append(StringBuilder builder, char c) {
+        if (pendingSpace && !builder.isEmpty()) {
+            builder.append(' ');
+        }
+        builder.append(c);
+    }
+
+    private void boundary() {
+        inWord = false;
+        pendingSpace = true;
+    }
+
+    private void closeHeading() {
+        if (headingLevel == 0) {
+            return;
+        }
+        String text = heading.toString();
+        if (!text.isEmpty()) {
+            toc.add(new PostHeading(headingLevel, text, anchor(text)));
+        }
+        headingLevel = 0;
+        heading.setLength(0);
+    }
+
+    private String anchor(String text) {
+        StringBuilder slug = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                slug.append(Character.toLowerCase(c));
+            } else if (!slug.isEmpty() && slug.charAt(slug.length() - 1) != '-') {
+                slug.append('-');
+            }
+        }
+        if (!slug.isEmpty() && slug.charAt(slug.length() - 1) == '-') {
+            slug.setLength(slug.length() - 1);
+        }
+        String base = slug.isEmpty() ? "section" : slug.toString();
+        String anchor = base;
+        for (int suffix = 2; !anchors.add(anchor); suffix++) {
+            anchor = base + "-" + suffix;
+        }
+        return anchor;
+    }
+
+    // the builder holds one character more than the excerpt when the text was longer; cut that at a word boundary
+    private String excerptText() {
+        if (excerpt.length() <= EXCERPT_LENGTH) {
+            return excerpt.toString();
+        }
+        int cut = excerpt.lastIndexOf(" ", EXCERPT_LENGTH);
+        if (cut < EXCERPT_LENGTH / 2) {
+            cut = EXCERPT_LENGTH;
+        }
+        return excerpt.substring(0, cut).trim() + "...";
+    }
+
+    private int headingLevel(int nameStart, int nameEnd) {
+        if (nameEnd - nameStart != 2) {
+            return 0;
+        }
+        char h = html.charAt(nameStart);
+        char digit = html.charAt(nameStart + 1);
+        return (h == 'h' || h == 'H') && digit >= '1' && digit <= '6' ? digit - '0' : 0;
+    }
+
+    private boolean isBlockTag(int nameStart, int nameEnd) {
+        int length = nameEnd - nameStart;
+        for (String tag : BLOCK_TAGS) {
+            if (tag.length() == length && html.regionMatches(true, nameStart, tag, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
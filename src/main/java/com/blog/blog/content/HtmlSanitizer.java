@@ -0,0 +1,27 @@
+package com.blog.blog.content;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Safelist;
+
+// server side allowlist for post html, run once when a post is written instead of on every render in the browser.
+// it matches what the editor (TipTap StarterKit with h1-h3 and lists) can produce; everything else, attributes included, is dropped
+public final class HtmlSanitizer {
+
+    private static final Safelist POST_HTML = new Safelist()
+            .addTags("p", "br", "hr", "h1", "h2", "h3", "h4", "h5", "h6",
+                    "strong", "b", "em", "i", "u", "s", "code", "pre", "blockquote", "ul", "ol", "li")
+            .addAttributes("ol", "start");
+
+    private static final Document.OutputSettings OUTPUT = new Document.OutputSettings().prettyPrint(false);
+
+    private HtmlSanitizer() {
+    }
+
+    public static String sanitize(String html) {
+        if (html == null || html.isEmpty()) {
+            return html;
+        }
+        return Jsoup.clean(html, "", POST_HTML, OUTPUT);
+    }
+}
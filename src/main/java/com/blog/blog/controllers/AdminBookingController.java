@@ -0,0 +1,56 @@
+package com.blog.blog.controllers;
+
+import com.blog.blog.domain.BookingPage;
+import com.blog.blog.domain.dtos.BookingDayCountDto;
+import com.blog.blog.domain.dtos.BookingResponseDto;
+import com.blog.blog.services.BookingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// the admin booking calendar, every client's contact details are in here
+@RestController
+@RequestMapping(path = "/api/v1/admin/bookings")
+@RequiredArgsConstructor
+public class AdminBookingController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final BookingService bookingService;
+
+    // bookings in [from, to) by time, a page at a time, the next cursor comes in X-Next-Cursor
+    @GetMapping
+    public ResponseEntity<List<BookingResponseDto>> getBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Boolean confirmed,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1");
+        }
+        BookingPage page = bookingService.getBookings(from, to, confirmed, cursor, Math.min(size, MAX_PAGE_SIZE));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(PostController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    // month views: booking counts per day in [from, to), one grouped query
+    @GetMapping("/days")
+    public ResponseEntity<List<BookingDayCountDto>> countBookingsByDay(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<BookingDayCountDto> response = bookingService.countBookingsByDay(from, to);
+        return ResponseEntity.ok(response);
+    }
+}
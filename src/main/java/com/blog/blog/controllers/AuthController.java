@@ -1,19 +1,18 @@
 package com.blog.blog.controllers;
 
 import com.blog.blog.domain.dtos.*;
-import com.blog.blog.domain.entities.User;
-import com.blog.blog.repositories.UserRepository;
 import com.blog.blog.security.AuthenticationService;
+import com.blog.blog.security.BlogUserDetails;
 import com.blog.blog.services.UserService;
+import com.blog.blog.services.impl.LoginThrottle;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
-
 @RestController
 @RequestMapping(path = "/api/v1/auth")
 @RequiredArgsConstructor
@@ -21,20 +20,27 @@ public class AuthController {
 
     private final AuthenticationService authenticationService;
     private final UserService userService;
-    private final UserRepository userRepository;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest loginRequest){
-        UserDetails userDetails = authenticationService.authenticate(
-                loginRequest.getEmail(),
-                loginRequest.getPassword());
-
-        String tokenValue = authenticationService.generateToken(userDetails);
-       AuthResponse authResponse = AuthResponse.builder()
-                .token(tokenValue)
-                .expiresIn(86400)
-                .build();
-        return ResponseEntity.ok(authResponse);
+    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request){
+        // behind a proxy the client address comes from server.forward-headers-strategy, never from a raw header
+        UserDetails userDetails = loginThrottle.attempt(request.getRemoteAddr(), loginRequest.getEmail(),
+                () -> authenticationService.authenticate(
+                        loginRequest.getEmail(),
+                        loginRequest.getPassword()));
+        return ResponseEntity.ok(authenticationService.generateTokens(userDetails));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authenticationService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authenticationService.logout(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/register")
@@ -43,10 +49,8 @@ public class AuthController {
     }
 
     @GetMapping("/profile")
-    public ResponseEntity<UserProfileResponse> getUserProfile(Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
+    public ResponseEntity<UserProfileResponse> getUserProfile(@AuthenticationPrincipal BlogUserDetails user) {
+        // straight from the token claims, no lookup
         UserProfileResponse response = UserProfileResponse.builder()
                 .id(user.getId())
                 .name(user.getName())
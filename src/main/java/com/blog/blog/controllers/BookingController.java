@@ -1,13 +1,17 @@
 package com.blog.blog.controllers;
 
+import com.blog.blog.domain.dtos.AvailabilityDto;
 import com.blog.blog.domain.dtos.BookingRequestDto;
 import com.blog.blog.domain.dtos.BookingResponseDto;
+import com.blog.blog.services.BookingAvailabilityService;
 import com.blog.blog.services.BookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,6 +21,7 @@ import java.util.UUID;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingAvailabilityService bookingAvailabilityService;
 
     @PostMapping
     public ResponseEntity<BookingResponseDto> createBooking(
@@ -25,6 +30,15 @@ public class BookingController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<List<AvailabilityDto>> getAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String service) {
+        List<AvailabilityDto> response = bookingAvailabilityService.getAvailability(from, to, service);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/upcoming")
     public ResponseEntity<List<BookingResponseDto>> getUpcomingBookings() {
         List<BookingResponseDto> response = bookingService.getUpcomingBookings();
@@ -0,0 +1,32 @@
+package com.blog.blog.controllers;
+
+import com.blog.blog.domain.dtos.CacheStatsDto;
+import com.blog.blog.services.impl.PostListingCache;
+import com.blog.blog.services.impl.RelatedPostServiceImpl;
+import com.blog.blog.services.impl.SanitizedContentCache;
+import com.blog.blog.services.impl.UserCache;
+import com.blog.blog.services.impl.VerifiedTokenCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/api/v1/admin/caches")
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final PostListingCache postListingCache;
+    private final SanitizedContentCache sanitizedContentCache;
+    private final RelatedPostServiceImpl relatedPostService;
+    private final UserCache userCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @GetMapping
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(List.of(postListingCache.stats(), sanitizedContentCache.stats(), relatedPostService.stats(), userCache.stats(), verifiedTokenCache.stats()));
+    }
+}
@@ -5,11 +5,13 @@ import com.blog.blog.domain.dtos.CreateCategoryRequest;
 import com.blog.blog.domain.entities.Category;
 import com.blog.blog.mappers.CategoryMapper;
 import com.blog.blog.services.CategoryService;
+import com.blog.blog.services.impl.CollectionVersions;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,14 +25,19 @@ public class CategoryController {
 
     private final CategoryService categoryService;
     private final CategoryMapper categoryMapper;
+    private final CollectionVersions collectionVersions;
 
     @GetMapping
-    public ResponseEntity<List<CategoryDto>> listCategories() {
-        List<CategoryDto> categories = categoryService.listCategories()
-                .stream().map(category -> categoryMapper.toDto(category))
-                .toList();
-
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<CategoryDto>> listCategories(WebRequest webRequest) {
+        CollectionVersions.Version version = collectionVersions.current(CollectionVersions.Collection.CATEGORIES);
+        String etag = collectionVersions.etag(CollectionVersions.Collection.CATEGORIES, version, "all");
+        return ConditionalGet.respond(webRequest, etag, version.lastModified(), () -> {
+            List<CategoryDto> categories = categoryService.listCategories()
+                    .stream().map(category -> categoryMapper.toDto(category))
+                    .toList();
+
+            return ResponseEntity.ok(categories);
+        });
     }
 
 
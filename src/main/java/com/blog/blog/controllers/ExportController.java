@@ -0,0 +1,73 @@
+package com.blog.blog.controllers;
+
+import com.blog.blog.config.AsyncConfig;
+import com.blog.blog.domain.ExportFormat;
+import com.blog.blog.services.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// admin downloads; the body is written on an async thread while rows are read, so nothing is buffered in between.
+// a large export outlasts the default async timeout, so these responses get blog.exports.timeout instead
+@RestController
+@RequestMapping(path = "/api/v1/admin/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @Value("${blog.exports.timeout:PT10M}")
+    private Duration timeout;
+
+    @GetMapping(path = "/posts")
+    public ResponseEntity<StreamingResponseBody> exportPosts(@RequestParam(defaultValue = "ndjson") String format, HttpServletRequest request) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return download(request, "posts", exportFormat, out -> exportService.exportPosts(exportFormat, out));
+    }
+
+    @GetMapping(path = "/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletRequest request) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        LocalDateTime start = from != null ? from : LocalDateTime.now().minusYears(1);
+        LocalDateTime end = to != null ? to : LocalDateTime.now().plusYears(1);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        return download(request, "bookings", exportFormat, out -> exportService.exportBookings(start, end, exportFormat, out));
+    }
+
+    @GetMapping(path = "/contact-messages")
+    public ResponseEntity<StreamingResponseBody> exportContactMessages(@RequestParam(defaultValue = "ndjson") String format,
+                                                                       HttpServletRequest request) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return download(request, "contact-messages", exportFormat, out -> exportService.exportContactMessages(exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(HttpServletRequest request, String name, ExportFormat format, StreamingResponseBody body) {
+        AsyncConfig.extendTimeout(request, timeout);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,54 @@
+package com.blog.blog.controllers;
+
+import com.blog.blog.domain.dtos.ImportProgressDto;
+import com.blog.blog.domain.entities.User;
+import com.blog.blog.services.PostImportService;
+import com.blog.blog.services.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+// takes the same ndjson the posts export produces; answers with one progress line per saved batch and a final summary line.
+// every imported post is attributed to the admin importing it, the export's author names are not carried over
+@RestController
+@RequestMapping(path = "/api/v1/admin/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final PostImportService postImportService;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(path = "/posts", consumes = {"application/x-ndjson", "application/json", "text/plain"})
+    public void importPosts(@RequestAttribute UUID userId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        User author = userService.getUserById(userId);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("application/x-ndjson");
+        OutputStream out = response.getOutputStream();
+        ImportProgressDto summary = postImportService.importPosts(author, request.getInputStream(), progress -> {
+            try {
+                writeLine(out, progress);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writeLine(out, summary);
+    }
+
+    private void writeLine(OutputStream out, ImportProgressDto progress) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(progress));
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,22 @@
+package com.blog.blog.controllers;
+
+import com.blog.blog.domain.dtos.LoginThrottleStatsDto;
+import com.blog.blog.services.impl.LoginThrottle;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/api/v1/admin/login-throttle")
+@RequiredArgsConstructor
+public class LoginThrottleController {
+
+    private final LoginThrottle loginThrottle;
+
+    @GetMapping
+    public ResponseEntity<LoginThrottleStatsDto> getStats() {
+        return ResponseEntity.ok(loginThrottle.stats());
+    }
+}
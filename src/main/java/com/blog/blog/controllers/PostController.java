@@ -1,22 +1,45 @@
 package com.blog.blog.controllers;
 
+import com.blog.blog.content.ContentHash;
 import com.blog.blog.domain.CreatePostRequest;
+import com.blog.blog.domain.KeysetCursor;
+import com.blog.blog.domain.PostListing;
+import com.blog.blog.domain.TagMatch;
 import com.blog.blog.domain.UpdatePostRequest;
 import com.blog.blog.domain.dtos.CreatePostRequestDto;
+import com.blog.blog.domain.dtos.FacetedPostsDto;
 import com.blog.blog.domain.dtos.PostDto;
+import com.blog.blog.domain.dtos.PostSummaryDto;
 import com.blog.blog.domain.dtos.UpdatePostRequestDto;
 import com.blog.blog.domain.entities.Post;
 import com.blog.blog.domain.entities.User;
 import com.blog.blog.mappers.PostMapper;
+import com.blog.blog.services.PostSearchService;
+import com.blog.blog.services.FacetedPostService;
 import com.blog.blog.services.PostService;
+import com.blog.blog.services.RelatedPostService;
+import com.blog.blog.services.TrendingPostService;
 import com.blog.blog.services.UserService;
+import com.blog.blog.services.impl.CollectionVersions;
+import com.blog.blog.services.impl.PostListingCache;
+import com.blog.blog.services.impl.SanitizedContentCache;
+import com.blog.blog.services.impl.PostViewCounter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,6 +51,17 @@ public class PostController {
     private final PostService postService;
     private final PostMapper postMapper;
     private final UserService userService;
+    private final PostListingCache postListingCache;
+    private final PostSearchService postSearchService;
+    private final TrendingPostService trendingPostService;
+    private final RelatedPostService relatedPostService;
+    private final FacetedPostService facetedPostService;
+    private final CollectionVersions collectionVersions;
+    private final SanitizedContentCache sanitizedContentCache;
+    private final PostViewCounter postViewCounter;
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 50;
 
     @GetMapping
     public ResponseEntity<List<PostDto>> getAllPosts(
@@ -35,30 +69,116 @@ public class PostController {
             @RequestParam(required = false) UUID tagId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
-            Principal principal){
-        boolean isAuthenticated = principal != null;
-        if(!isAuthenticated && page ==0 && size > 5){
-            size = 5;
+            @RequestParam(required = false) String cursor,
+            Principal principal,
+            WebRequest webRequest){
+        int pageSize = resolvePageSize(page, size, principal);
+        ScrollPosition position = resolvePosition(cursor, page, pageSize);
+        CollectionVersions.Version version = collectionVersions.current(CollectionVersions.Collection.POSTS);
+        String etag = collectionVersions.etag(CollectionVersions.Collection.POSTS, version, "full-" + pageSize);
+        return ConditionalGet.respond(webRequest, etag, version.lastModified(),
+                () -> listPosts(categoryId, tagId, cacheablePosition(cursor, page), position, pageSize, version)); // get
+    }
+
+    // ?view=summary: same paging, but only list columns are read and no post content is shipped
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<PostSummaryDto>> getPostSummaries(
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) UUID tagId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(required = false) String cursor,
+            Principal principal,
+            WebRequest webRequest){
+        int pageSize = resolvePageSize(page, size, principal);
+        ScrollPosition position = resolvePosition(cursor, page, pageSize);
+        CollectionVersions.Version version = collectionVersions.current(CollectionVersions.Collection.POSTS);
+        String etag = collectionVersions.etag(CollectionVersions.Collection.POSTS, version, "summary-" + pageSize);
+        return ConditionalGet.respond(webRequest, etag, version.lastModified(),
+                () -> listPostSummaries(categoryId, tagId, cacheablePosition(cursor, page), position, pageSize, version));
+    }
+
+    @GetMapping(path = "/search")
+    public ResponseEntity<List<PostSummaryDto>> searchPosts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1");
         }
-        List<Post> posts = postService.getAllPosts(categoryId, tagId);
-        List<PostDto> postDtos = posts.stream().map(postMapper::toDto).toList();
-        return ResponseEntity.ok(postDtos); // get
+        return ResponseEntity.ok(postSearchService.search(q, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    // ?tagIds=a,b&tagMatch=all|any&categoryIds=c,d&authorIds=e, every parameter optional; counts come back with the page
+    @GetMapping(path = "/facets")
+    public ResponseEntity<FacetedPostsDto> getFacetedPosts(
+            @RequestParam(defaultValue = "") List<UUID> tagIds,
+            @RequestParam(defaultValue = "all") String tagMatch,
+            @RequestParam(defaultValue = "") List<UUID> categoryIds,
+            @RequestParam(defaultValue = "") List<UUID> authorIds,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1");
+        }
+        return ResponseEntity.ok(facetedPostService.filterPosts(tagIds, TagMatch.from(tagMatch), categoryIds, authorIds, cursor, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    @GetMapping(path = "/{id}/related")
+    public ResponseEntity<List<PostSummaryDto>> getRelatedPosts(@PathVariable UUID id, @RequestParam(defaultValue = "5") int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1");
+        }
+        return ResponseEntity.ok(relatedPostService.getRelatedPosts(id, size));
+    }
+
+    @GetMapping(path = "/trending")
+    public ResponseEntity<List<PostSummaryDto>> getTrendingPosts(@RequestParam(defaultValue = "10") int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1");
+        }
+        return ResponseEntity.ok(trendingPostService.getTrending(Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    // sanitized html of a published post addressed by its hash (PostDto.contentHash); the url changes whenever the content does,
+    // so browsers and proxies may keep it for good
+    @GetMapping(path = "/content/{contentHash}", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<String> getPostContent(@PathVariable String contentHash) {
+        if (!ContentHash.isValid(contentHash)) {
+            throw new IllegalArgumentException("Invalid content hash " + contentHash);
+        }
+        String content = sanitizedContentCache.getByHash(contentHash, postService::getContentByHash);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .header("Content-Security-Policy", "default-src 'none'; sandbox") // a fragment to embed, not a page to open
+                .body(content);
     }
 
     @GetMapping(path = "/drafts")
     public ResponseEntity<List<PostDto>> getDrafts(@RequestAttribute UUID userId) {
         User loggedInUser = userService.getUserById(userId);
         List<Post> draftPosts = postService.getDraftPosts(loggedInUser);
-        List<PostDto> postDtos = draftPosts.stream().map(postMapper::toDto).toList();
+        List<PostDto> postDtos = draftPosts.stream().map(this::toSafeDto).toList();
         return ResponseEntity.ok(postDtos);
     }
 
-    @GetMapping(path = "/{id}")
-    public ResponseEntity<PostDto> getPost(@PathVariable UUID id) {
-        Post post = postService.getPost(id);
-        PostDto postDto = postMapper.toDto(post);
-        return ResponseEntity.ok(postDto);
+    @GetMapping(path = "/drafts", params = "view=summary")
+    public ResponseEntity<List<PostSummaryDto>> getDraftSummaries(@RequestAttribute UUID userId) {
+        User loggedInUser = userService.getUserById(userId);
+        return ResponseEntity.ok(postService.getDraftSummaries(loggedInUser));
+    }
 
+    @GetMapping(path = "/{id}")
+    public ResponseEntity<PostDto> getPost(@PathVariable UUID id, WebRequest webRequest) {
+        LocalDateTime updatedAt = postService.getPostUpdatedAt(id);
+        postViewCounter.record(id); // a revalidated read is still a view
+        // the epoch makes a new deployment, which may render posts differently, revalidate them once
+        String etag = "\"post-" + collectionVersions.epoch() + "-" + id + "-" + updatedAt.toEpochSecond(ZoneOffset.UTC) + "." + updatedAt.getNano() / 1000 + "\"";
+        long lastModified = updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return ConditionalGet.respond(webRequest, etag, lastModified, () -> {
+            Post post = postService.getPost(id);
+            PostDto postDto = toSafeDto(post);
+            return ResponseEntity.ok(postDto);
+        });
     }
 
     @PostMapping
@@ -89,5 +209,71 @@ public class PostController {
             return ResponseEntity.noContent().build();
     }
 
+    private ResponseEntity<List<PostDto>> listPosts(UUID categoryId, UUID tagId, String cacheablePosition, ScrollPosition position, int pageSize,
+                                                    CollectionVersions.Version version) {
+        PostListingCache.Key key = new PostListingCache.Key("full", categoryId, tagId, cacheablePosition, pageSize, version.number());
+        PostListing<PostDto> listing = postListingCache.get(key, () -> {
+            Window<Post> posts = postService.getAllPosts(categoryId, tagId, position, pageSize);
+            List<PostDto> postDtos = posts.stream().map(this::toSafeDto).toList();
+            String nextCursor = null;
+            if (posts.hasNext()) {
+                Post last = posts.getContent().get(posts.size() - 1);
+                nextCursor = KeysetCursor.POSTS.encode(last.getCreatedAt(), last.getId());
+            }
+            return new PostListing<>(postDtos, nextCursor);
+        });
+        return toResponse(listing);
+    }
+
+    private ResponseEntity<List<PostSummaryDto>> listPostSummaries(UUID categoryId, UUID tagId, String cacheablePosition, ScrollPosition position, int pageSize,
+                                                                   CollectionVersions.Version version) {
+        PostListingCache.Key key = new PostListingCache.Key("summary", categoryId, tagId, cacheablePosition, pageSize, version.number());
+        PostListing<PostSummaryDto> listing = postListingCache.get(key, () -> {
+            Window<PostSummaryDto> summaries = postService.getPostSummaries(categoryId, tagId, position, pageSize);
+            String nextCursor = null;
+            if (summaries.hasNext()) {
+                PostSummaryDto last = summaries.getContent().get(summaries.size() - 1);
+                nextCursor = KeysetCursor.POSTS.encode(last.getCreatedAt(), last.getId());
+            }
+            return new PostListing<>(summaries.getContent(), nextCursor);
+        });
+        return toResponse(listing);
+    }
+
+    private PostDto toSafeDto(Post post) {
+        PostDto postDto = postMapper.toDto(post);
+        postDto.setContent(sanitizedContentCache.render(post.getContent(), post.getContentHash()));
+        return postDto;
+    }
+
+    private int resolvePageSize(int page, int size, Principal principal) {
+        boolean isAuthenticated = principal != null;
+        if(!isAuthenticated && page ==0 && size > 5){
+            size = 5;
+        }
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("Page must not be negative and size must be at least 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private <T> ResponseEntity<List<T>> toResponse(PostListing<T> listing) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (listing.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, listing.getNextCursor());
+        }
+        return response.body(listing.getItems());
+    }
+
+    private String cacheablePosition(String cursor, int page) {
+        return cursor != null ? "cursor:" + cursor : "page:" + page;
+    }
 
+    // cursor wins over page: keyset seeks stay cheap at any depth, offset is kept for old clients
+    private ScrollPosition resolvePosition(String cursor, int page, int size) {
+        if (cursor != null) {
+            return KeysetCursor.POSTS.decode(cursor);
+        }
+        return page == 0 ? ScrollPosition.offset() : ScrollPosition.offset((long) page * size - 1);
+    }
 }
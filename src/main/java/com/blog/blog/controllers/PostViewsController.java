@@ -0,0 +1,32 @@
+package com.blog.blog.controllers;
+
+import com.blog.blog.domain.dtos.PostViewsDto;
+import com.blog.blog.services.PostService;
+import com.blog.blog.services.impl.PostViewCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/api/v1/admin/posts/views")
+@RequiredArgsConstructor
+public class PostViewsController {
+
+    private static final int MAX_SIZE = 100;
+
+    private final PostService postService;
+    private final PostViewCounter postViewCounter;
+
+    @GetMapping
+    public ResponseEntity<List<PostViewsDto>> getMostViewed(@RequestParam(defaultValue = "20") int size) {
+        List<PostViewsDto> posts = postService.getMostViewed(Math.max(1, Math.min(size, MAX_SIZE)));
+        // include views not written yet so the numbers don't lag by a flush interval
+        posts.forEach(post -> post.setViewCount(post.getViewCount() + postViewCounter.pendingViews(post.getId())));
+        return ResponseEntity.ok(posts);
+    }
+}
@@ -5,10 +5,12 @@ import com.blog.blog.domain.dtos.TagDto;
 import com.blog.blog.domain.entities.Tag;
 import com.blog.blog.mappers.TagMapper;
 import com.blog.blog.services.TagService;
+import com.blog.blog.services.impl.CollectionVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -20,12 +22,17 @@ public class TagController {
 
     private final TagService tagService;
     private final TagMapper tagMapper;
+    private final CollectionVersions collectionVersions;
 
     @GetMapping
-    public ResponseEntity<List<TagDto>> getAllTags(){
-        List<Tag> tags = tagService.getTags();
-        List<TagDto> tagResponses = tags.stream().map(tagMapper::toTagResponse).toList();
-        return ResponseEntity.ok(tagResponses);
+    public ResponseEntity<List<TagDto>> getAllTags(WebRequest webRequest){
+        CollectionVersions.Version version = collectionVersions.current(CollectionVersions.Collection.TAGS);
+        String etag = collectionVersions.etag(CollectionVersions.Collection.TAGS, version, "all");
+        return ConditionalGet.respond(webRequest, etag, version.lastModified(), () -> {
+            List<Tag> tags = tagService.getTags();
+            List<TagDto> tagResponses = tags.stream().map(tagMapper::toTagResponse).toList();
+            return ResponseEntity.ok(tagResponses);
+        });
     }
 
     @PostMapping
@@ -0,0 +1,13 @@
+package com.blog.blog.domain;
+
+import com.blog.blog.domain.dtos.BookingResponseDto;
+import lombok.Value;
+
+import java.util.List;
+
+// one keyset page of the booking calendar
+@Value
+public class BookingPage {
+    List<BookingResponseDto> items;
+    String nextCursor;
+}
@@ -0,0 +1,11 @@
+package com.blog.blog.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// what the availability index is seeded from
+public interface BookingTime {
+    UUID getId();
+    String getService();
+    LocalDateTime getDateTime();
+}
@@ -2,6 +2,7 @@ package com.blog.blog.domain;
 
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -19,5 +20,6 @@ public class CreatePostRequest {
     @Builder.Default
     private Set<UUID> tagIds = new HashSet<>();
     private PostStatus status;
+    private LocalDateTime createdAt; // only set by imports, new posts are stamped on persist
 
 }
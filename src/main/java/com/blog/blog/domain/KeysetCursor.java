@@ -0,0 +1,48 @@
+package com.blog.blog.domain;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// opaque keyset cursor over (timestamp, id), named after the columns the listing is ordered by
+public final class KeysetCursor {
+
+    // post listings run newest first over (createdAt, id)
+    public static final KeysetCursor POSTS = new KeysetCursor("createdAt");
+
+    // the booking calendar runs over (dateTime, id)
+    public static final KeysetCursor BOOKINGS = new KeysetCursor("dateTime");
+
+    private static final String SEPARATOR = "|";
+
+    private final String timestampKey;
+
+    private KeysetCursor(String timestampKey) {
+        this.timestampKey = timestampKey;
+    }
+
+    public String encode(LocalDateTime timestamp, UUID id) {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public KeysetScrollPosition decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(timestampKey, LocalDateTime.parse(raw.substring(0, separatorIndex)));
+            keys.put("id", UUID.fromString(raw.substring(separatorIndex + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor " + cursor);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.blog.blog.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// what the trending ranking is seeded from
+public interface PostActivity {
+    UUID getId();
+    LocalDateTime getCreatedAt();
+    long getViewCount();
+}
@@ -0,0 +1,17 @@
+package com.blog.blog.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// closed projection streamed by exports: plain tuples, so nothing piles up in the persistence context
+public interface PostExportRow {
+    UUID getId();
+    String getTitle();
+    String getContent();
+    PostStatus getStatus();
+    Integer getReadingTime();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    String getAuthorName();
+    String getCategoryName();
+}
@@ -0,0 +1,12 @@
+package com.blog.blog.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// what the facet index keeps of a post besides its tags, which are loaded per batch with PostTagId
+public interface PostFacets {
+    UUID getId();
+    UUID getCategoryId();
+    UUID getAuthorId();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,5 @@
+package com.blog.blog.domain;
+
+// one entry of a post's table of contents; anchor is a slug unique within the post
+public record PostHeading(int level, String text, String anchor) {
+}
@@ -0,0 +1,12 @@
+package com.blog.blog.domain;
+
+import lombok.Value;
+
+import java.util.List;
+
+// one mapped page of a post listing, ready to be served again from the listing cache
+@Value
+public class PostListing<T> {
+    List<T> items;
+    String nextCursor;
+}
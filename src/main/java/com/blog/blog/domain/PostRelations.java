@@ -0,0 +1,11 @@
+package com.blog.blog.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// what the related-posts index keeps of a post besides its tags, which are loaded per batch with PostTagId
+public interface PostRelations {
+    UUID getId();
+    UUID getCategoryId();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,29 @@
+package com.blog.blog.domain;
+
+import com.blog.blog.domain.entities.Post;
+import com.blog.blog.domain.entities.Tag;
+import lombok.Value;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// the parts of a post that decide where it is listed, taken before and after a write
+@Value
+public class PostSnapshot {
+
+    public static final PostSnapshot NONE = new PostSnapshot(null, null, Set.of());
+
+    PostStatus status;
+    UUID categoryId;
+    Set<UUID> tagIds;
+
+    public static PostSnapshot of(Post post) {
+        Set<UUID> tagIds = post.getTags().stream().map(Tag::getId).collect(Collectors.toUnmodifiableSet());
+        return new PostSnapshot(post.getStatus(), post.getCategory().getId(), tagIds);
+    }
+
+    public boolean isPublished() {
+        return status == PostStatus.PUBLISHED;
+    }
+}
@@ -0,0 +1,17 @@
+package com.blog.blog.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// closed projection for list views: only these columns are selected, never Posts.content
+public interface PostSummary {
+    UUID getId();
+    String getTitle();
+    String getExcerpt();
+    Integer getReadingTime();
+    int getWordCount();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    String getAuthorName();
+    String getCategoryName();
+}
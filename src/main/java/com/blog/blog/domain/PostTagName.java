@@ -0,0 +1,8 @@
+package com.blog.blog.domain;
+
+import java.util.UUID;
+
+public interface PostTagName {
+    UUID getPostId();
+    String getTagName();
+}
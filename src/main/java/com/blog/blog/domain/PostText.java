@@ -0,0 +1,13 @@
+package com.blog.blog.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// the searchable fields of a post; createdAt and id are the keyset the index is built by
+public interface PostText {
+    UUID getId();
+    String getTitle();
+    String getContent();
+    String getContentHash();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,17 @@
+package com.blog.blog.domain;
+
+import java.util.Locale;
+
+// how several tagIds combine in a faceted listing: posts carrying all of them or any of them
+public enum TagMatch {
+    ALL,
+    ANY;
+
+    public static TagMatch from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported tag match " + value + ", use all or any");
+        }
+    }
+}
@@ -13,4 +13,6 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
     protected String token;
     private long expiresIn;
+    private String refreshToken;
+    private long refreshExpiresIn;
 }
@@ -0,0 +1,19 @@
+package com.blog.blog.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AvailabilityDto {
+    private String service;
+    private long slotMinutes;
+    private List<LocalDateTime> freeSlots;
+}
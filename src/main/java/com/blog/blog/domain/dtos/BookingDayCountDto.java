@@ -0,0 +1,18 @@
+package com.blog.blog.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookingDayCountDto {
+    private LocalDate day;
+    private long total;
+    private long confirmed;
+}
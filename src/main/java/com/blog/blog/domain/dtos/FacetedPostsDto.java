@@ -0,0 +1,20 @@
+package com.blog.blog.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FacetedPostsDto {
+    private List<PostSummaryDto> posts;
+    private String nextCursor;
+    private int total; // posts matching the filter, over all pages
+    private List<FacetCountDto> tags;
+    private List<FacetCountDto> categories;
+}
@@ -0,0 +1,21 @@
+package com.blog.blog.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportProgressDto {
+    private long lines;
+    private long imported;
+    private long failed;
+    private double postsPerSecond;
+    private boolean finished;
+    private List<String> errors; // of the batch this line reports
+}
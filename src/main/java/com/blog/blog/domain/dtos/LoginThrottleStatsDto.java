@@ -0,0 +1,22 @@
+package com.blog.blog.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoginThrottleStatsDto {
+    private long accepted;
+    private long rejectedByIp;
+    private long rejectedByEmail;
+    private long rejectedBusy;
+    private long trackedIps;
+    private long trackedEmails;
+    private int hashingThreads;
+    private int activeHashes;
+    private int queuedHashes;
+}
@@ -1,6 +1,7 @@
 package com.blog.blog.domain.dtos;
 
 
+import com.blog.blog.domain.PostHeading;
 import com.blog.blog.domain.PostStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -19,10 +21,14 @@ public class PostDto {
     private UUID id;
     private String title;
     private String content;
+    private String contentHash;
     private AuthorDto author;
     private CategoryDto category;
     private Set<TagDto> tags;
     private Integer readingTime;
+    private int wordCount;
+    private String excerpt;
+    private List<PostHeading> toc;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private PostStatus postStatus;
@@ -0,0 +1,28 @@
+package com.blog.blog.domain.dtos;
+
+import com.blog.blog.domain.PostStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostExportDto {
+    private UUID id;
+    private String title;
+    private String content;
+    private PostStatus status;
+    private Integer readingTime;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String authorName;
+    private String categoryName;
+    private Set<String> tagNames;
+}
@@ -0,0 +1,44 @@
+package com.blog.blog.domain.dtos;
+
+import com.blog.blog.domain.PostStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+// one line of an import, the same shape as a line of the posts export; unknown fields such as id are ignored.
+// the constraints are those of CreatePostRequestDto, so an import cannot save a post the editor would refuse
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostImportDto {
+
+    @NotBlank(message = "Title is required")
+    @Size(min=3, max=200, message = "Title must be between {min} and {max} characters")
+    private String title;
+
+    @NotBlank(message = "Content is required")
+    @Size(min = 10, max=100000, message = "Content must be between {min} and {max} characters")
+    private String content;
+
+    @NotNull(message = "Status is required")
+    @Builder.Default
+    private PostStatus status = PostStatus.PUBLISHED;
+
+    @NotBlank(message = "Category is required")
+    private String categoryName;
+
+    @Size(max = 10, message = "Maximum {max} tags are allowed")
+    @Builder.Default
+    private Set<String> tagNames = new HashSet<>();
+
+    private LocalDateTime createdAt;
+}
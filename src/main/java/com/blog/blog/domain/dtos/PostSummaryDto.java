@@ -0,0 +1,27 @@
+package com.blog.blog.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostSummaryDto {
+    private UUID id;
+    private String title;
+    private String excerpt;
+    private Integer readingTime;
+    private int wordCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String authorName;
+    private String categoryName;
+    private Set<String> tagNames;
+}
@@ -1,5 +1,6 @@
 package com.blog.blog.domain.entities;
 
+import com.blog.blog.ids.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,10 +15,14 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_email_date_time", columnList = "email, date_time"),
+        @Index(name = "idx_bookings_date_time", columnList = "date_time"),
+        @Index(name = "idx_bookings_confirmed_date_time", columnList = "confirmed, date_time")
+})
 public class Booking {
     @Id
-    @GeneratedValue
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(nullable = false)
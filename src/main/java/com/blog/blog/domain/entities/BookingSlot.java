@@ -0,0 +1,41 @@
+package com.blog.blog.domain.entities;
+
+import com.blog.blog.ids.GeneratedUuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// a booking's claim on one cell of its service's slot grid. the unique key is what keeps two overlapping bookings
+// out when they race past the in-memory check, on one instance or several; the rows go with their booking
+@Entity
+@Table(name = "booking_slots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_booking_slots_service_slot_start", columnNames = {"service", "slot_start"}),
+        indexes = @Index(name = "idx_booking_slots_booking_id", columnList = "booking_id"))
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class BookingSlot {
+
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "booking_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Booking booking;
+
+    @Column(nullable = false)
+    private String service;
+
+    @Column(nullable = false)
+    private LocalDateTime slotStart;
+}
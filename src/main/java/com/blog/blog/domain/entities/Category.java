@@ -1,8 +1,11 @@
 package com.blog.blog.domain.entities;
 
 
+import com.blog.blog.ids.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +14,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "categories")
+@BatchSize(size = 50)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -19,12 +23,17 @@ import java.util.UUID;
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(nullable = false,unique = true)
     private String name;
 
+    // published posts only, maintained by PostServiceImpl and repaired by PostCounterReconciliationJob
+    @Column(nullable = false)
+    @ColumnDefault("0") // lets ddl update add the column to existing rows
+    private long postCount;
+
     @OneToMany(mappedBy = "category")
     private List<Post> posts = new ArrayList<>();
 
@@ -1,5 +1,6 @@
 package com.blog.blog.domain.entities;
 
+import com.blog.blog.ids.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -7,7 +8,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "contact_messages")
+@Table(name = "contact_messages", indexes = {
+        @Index(name = "idx_contact_messages_created_at", columnList = "created_at"),
+        @Index(name = "idx_contact_messages_unread_created_at", columnList = "is_read, created_at")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -16,7 +20,7 @@ import java.util.UUID;
 public class ContactMessage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(nullable = false)
@@ -1,18 +1,32 @@
 package com.blog.blog.domain.entities;
 
 
+import com.blog.blog.content.ContentHash;
+import com.blog.blog.domain.PostHeading;
 import com.blog.blog.domain.PostStatus;
+import com.blog.blog.ids.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "Posts")
+@Table(name = "Posts", indexes = {
+        @Index(name = "idx_posts_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_posts_status_category_created_at", columnList = "status, category_id, created_at, id"),
+        @Index(name = "idx_posts_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_posts_author_status", columnList = "author_id, status")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Setter
@@ -21,22 +35,42 @@ import java.util.UUID;
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(nullable = false)
     private String title;
 
     @Column(nullable = false, columnDefinition = "text")
-    private String content;
+    private String content; // sanitized on write, see HtmlSanitizer
+
+    // sha-256 of content, null for posts written before content was sanitized on the server
+    @Column(length = ContentHash.LENGTH)
+    private String contentHash;
 
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private PostStatus status;
 
+    @Column(length = 500)
+    private String excerpt;
+
     @Column(nullable = false)
     private Integer readingTime;
 
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int wordCount;
+
+    // only moved by PostViewCounter's bulk updates, never written back from a loaded entity
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long viewCount;
+
+    // null until the content has been analyzed, see PostServiceImpl.migrateLegacyPosts
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<PostHeading> toc;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -52,10 +86,12 @@ public class Post {
     private Category category;
 
     @ManyToMany
+    @BatchSize(size = 50) // a page of posts loads all its tags in one query instead of one per post
     @JoinTable(
             name = "post_tags",
             joinColumns = @JoinColumn(name = "post_id"),
-            inverseJoinColumns = @JoinColumn(name = "tag_id") // relation goes both ways here thsat why we do join table
+            inverseJoinColumns = @JoinColumn(name = "tag_id"), // relation goes both ways here thsat why we do join table
+            indexes = @Index(name = "idx_post_tags_tag_id", columnList = "tag_id, post_id")
     )
     private Set<Tag> tags = new HashSet<>();
 
@@ -73,15 +109,17 @@ public class Post {
 
     @PrePersist
     protected void onCreate() {
-        LocalDateTime now = LocalDateTime.now();
-        this.createdAt = now;
-        this.updatedAt = now;
+        if (this.createdAt == null) { // imports keep the original date
+            this.createdAt = LocalDateTime.now();
+        }
+        this.createdAt = this.createdAt.truncatedTo(ChronoUnit.MICROS); // db precision, keeps keyset cursors exact
+        this.updatedAt = this.createdAt;
 
     }
 
     @PreUpdate
     protected void onUpdate() {
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS); // same value as stored, the post ETag is built from it
     }
 }
 
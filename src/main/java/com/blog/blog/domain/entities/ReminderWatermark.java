@@ -0,0 +1,25 @@
+package com.blog.blog.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// every reminder of the named kind due at or before remindedUntil has been sent
+@Entity
+@Table(name = "reminder_watermarks")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class ReminderWatermark {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime remindedUntil;
+}
@@ -0,0 +1,26 @@
+package com.blog.blog.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// the jti of a single token or the session id shared by every token of a login, kept until those tokens expire
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class RevokedToken {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
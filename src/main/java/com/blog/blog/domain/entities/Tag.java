@@ -1,7 +1,9 @@
 package com.blog.blog.domain.entities;
 
+import com.blog.blog.ids.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Objects;
@@ -18,12 +20,17 @@ import java.util.UUID;
 public class Tag {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(nullable = false, unique = true)
     private String name;
 
+    // published posts only, maintained by PostServiceImpl and repaired by PostCounterReconciliationJob
+    @Column(nullable = false)
+    @ColumnDefault("0") // lets ddl update add the column to existing rows
+    private int postCount;
+
     @ManyToMany(mappedBy = "tags")
     private Set<Post> posts = new HashSet<>();
 
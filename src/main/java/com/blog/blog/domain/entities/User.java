@@ -1,7 +1,10 @@
 package com.blog.blog.domain.entities;
 
+import com.blog.blog.services.impl.UserChangeListener;
+import com.blog.blog.ids.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -11,6 +14,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class) // keeps UserCache in step with the table
+@BatchSize(size = 50)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -19,7 +24,7 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(nullable = false, unique = true)
@@ -0,0 +1,10 @@
+package com.blog.blog.domain.events;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+public class CategoryDeletedEvent {
+    UUID categoryId;
+}
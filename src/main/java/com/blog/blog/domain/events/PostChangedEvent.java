@@ -0,0 +1,14 @@
+package com.blog.blog.domain.events;
+
+import com.blog.blog.domain.PostSnapshot;
+import lombok.Value;
+
+import java.util.UUID;
+
+// published by PostServiceImpl on create, update and delete; before is NONE for new posts, after is NONE for deleted ones
+@Value
+public class PostChangedEvent {
+    UUID postId;
+    PostSnapshot before;
+    PostSnapshot after;
+}
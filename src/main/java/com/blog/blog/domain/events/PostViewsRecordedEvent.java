@@ -0,0 +1,12 @@
+package com.blog.blog.domain.events;
+
+import lombok.Value;
+
+import java.util.Map;
+import java.util.UUID;
+
+// published by PostViewCounter after a flush has been written, views per post since the previous one
+@Value
+public class PostViewsRecordedEvent {
+    Map<UUID, Long> views;
+}
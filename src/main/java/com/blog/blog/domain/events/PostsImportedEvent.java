@@ -0,0 +1,12 @@
+package com.blog.blog.domain.events;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+// one event per imported batch instead of a PostChangedEvent per post
+@Value
+public class PostsImportedEvent {
+    List<UUID> publishedPostIds;
+}
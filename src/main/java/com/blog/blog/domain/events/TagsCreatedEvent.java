@@ -0,0 +1,11 @@
+package com.blog.blog.domain.events;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+@Value
+public class TagsCreatedEvent {
+    List<UUID> tagIds;
+}
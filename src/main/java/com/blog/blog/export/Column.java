@@ -0,0 +1,7 @@
+package com.blog.blog.export;
+
+import java.util.function.Function;
+
+// a csv column: header plus how to read the value from a row
+public record Column<T>(String header, Function<T, Object> value) {
+}
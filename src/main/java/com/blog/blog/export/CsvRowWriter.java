@@ -0,0 +1,79 @@
+package com.blog.blog.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+// rfc 4180 csv; cells that a spreadsheet would run as a formula are prefixed with a quote,
+// since contact messages and bookings come straight from public forms. a leading + or - followed only by digits and
+// number punctuation is a phone number or a number, not a formula, and is written as is
+class CsvRowWriter<T> implements RowWriter<T> {
+
+    private final BufferedWriter writer;
+    private final List<Column<T>> columns;
+
+    CsvRowWriter(OutputStream out, List<Column<T>> columns) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.columns = columns;
+        for (int i = 0; i < columns.size(); i++) {
+            writeCell(i, columns.get(i).header());
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            writeCell(i, columns.get(i).value().apply(row));
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush(); // the container owns the response stream
+    }
+
+    private void writeCell(int index, Object value) throws IOException {
+        if (index > 0) {
+            writer.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Collection<?> values ? String.join(";", values.stream().map(String::valueOf).toList()) : value.toString();
+        if (isFormula(text)) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(text);
+        }
+    }
+
+    static boolean isFormula(String text) {
+        if (text.isEmpty() || "=+-@\t\r".indexOf(text.charAt(0)) < 0) {
+            return false;
+        }
+        if (text.charAt(0) != '+' && text.charAt(0) != '-') {
+            return true;
+        }
+        boolean digits = false;
+        for (int i = 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (" ().-".indexOf(c) < 0) {
+                return true;
+            }
+        }
+        return !digits;
+    }
+}
@@ -0,0 +1,24 @@
+package com.blog.blog.export;
+
+import com.blog.blog.domain.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+// writes rows one at a time straight to the response, nothing is collected in between
+public interface RowWriter<T> extends AutoCloseable {
+
+    void write(T row) throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    static <T> RowWriter<T> of(ExportFormat format, OutputStream out, ObjectMapper objectMapper, List<Column<T>> columns) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRowWriter<>(out, objectMapper);
+            case CSV -> new CsvRowWriter<>(out, columns);
+        };
+    }
+}
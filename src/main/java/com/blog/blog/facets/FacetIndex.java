@@ -0,0 +1,298 @@
+package com.blog.blog.facets;
+
+import com.blog.blog.domain.TagMatch;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// published posts by tag, category and author as roaring bitmaps of post ordinals. a filter is a handful of bitmap
+// ands and ors, facet counts are and-cardinalities that never materialize the intersection. ordinals are handed out in
+// (createdAt, id) order, so a page is the highest matching ordinals below the cursor, found with rank and select.
+// an older post arriving late (imports, old drafts published) breaks that order; pages are then picked with a heap
+// over all matches until the owner rebuilds the index, see needsRebuild
+public class FacetIndex {
+
+    private static final Comparator<Key> OLDEST_FIRST = Comparator.comparing(Key::createdAt).thenComparing(Key::id);
+
+    private static final int SCAN_PER_VALUE = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final Map<UUID, RoaringBitmap> postsByTag = new HashMap<>();
+    private final Map<UUID, RoaringBitmap> postsByCategory = new HashMap<>();
+    private final Map<UUID, RoaringBitmap> postsByAuthor = new HashMap<>();
+    private Key[] keys = new Key[64]; // kept for removed ordinals too, so the array stays sorted for the cursor search
+    private UUID[] categories = new UUID[64];
+    private UUID[] authors = new UUID[64];
+    private UUID[][] tags = new UUID[64][];
+    private int end;
+    private boolean ordered = true;
+
+    public void put(UUID postId, UUID categoryId, UUID authorId, Collection<UUID> tagIds, LocalDateTime createdAt) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(postId);
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                unlink(ordinal);
+                ordered &= keys[ordinal].createdAt().equals(createdAt);
+            } else {
+                ordinal = nextOrdinal();
+                ordinals.put(postId, ordinal);
+                ordered &= ordinal == 0 || OLDEST_FIRST.compare(keys[ordinal - 1], new Key(createdAt, postId)) < 0;
+            }
+            keys[ordinal] = new Key(createdAt, postId);
+            categories[ordinal] = categoryId;
+            authors[ordinal] = authorId;
+            tags[ordinal] = tagIds.stream().distinct().toArray(UUID[]::new);
+            live.add(ordinal);
+            postsByCategory.computeIfAbsent(categoryId, id -> new RoaringBitmap()).add(ordinal);
+            postsByAuthor.computeIfAbsent(authorId, id -> new RoaringBitmap()).add(ordinal);
+            for (UUID tagId : tags[ordinal]) {
+                postsByTag.computeIfAbsent(tagId, id -> new RoaringBitmap()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID postId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(postId);
+            if (ordinal != null) {
+                unlink(ordinal);
+                live.remove(ordinal);
+                categories[ordinal] = null;
+                authors[ordinal] = null;
+                tags[ordinal] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // limit posts strictly older than after (null for the first page), plus facet counts over all matches
+    public Result query(Filter filter, Key after, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap byTags = tagMatches(filter);
+            RoaringBitmap byCategories = anyOf(postsByCategory, filter.categoryIds());
+            RoaringBitmap byAuthors = anyOf(postsByAuthor, filter.authorIds());
+            RoaringBitmap matches = intersect(live, byTags, byCategories, byAuthors);
+
+            // a dimension the reader picks several values from (categories, tags with ANY) is counted without its own
+            // filter, so the other values still show how many posts picking them too would add
+            Map<UUID, Integer> tagCounts = counts(postsByTag, tags,
+                    filter.tagMatch() == TagMatch.ANY ? intersect(live, byCategories, byAuthors) : matches);
+            Map<UUID, Integer> categoryCounts = counts(postsByCategory, categories, intersect(live, byTags, byAuthors));
+
+            List<Key> page = ordered ? pageByRank(matches, after, limit + 1) : pageByHeap(matches, after, limit + 1);
+            boolean hasNext = page.size() > limit;
+            List<Key> posts = hasNext ? page.subList(0, limit) : page;
+            return new Result(posts, hasNext, matches.getCardinality(), tagCounts, categoryCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // out of creation order, or more removed ordinals than live ones
+    public boolean needsRebuild() {
+        lock.readLock().lock();
+        try {
+            return !ordered || end - ordinals.size() > Math.max(1024, ordinals.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Key> pageByRank(RoaringBitmap matches, Key after, int limit) {
+        int below = after == null ? end : olderThan(after);
+        int remaining = below == 0 ? 0 : (int) matches.rank(below - 1); // matches at ordinals before the cursor
+        List<Key> page = new ArrayList<>(Math.min(limit, remaining));
+        while (page.size() < limit && remaining > 0) {
+            page.add(keys[matches.select(--remaining)]);
+        }
+        return page;
+    }
+
+    private List<Key> pageByHeap(RoaringBitmap matches, Key after, int limit) {
+        PriorityQueue<Key> newest = new PriorityQueue<>(limit + 1, OLDEST_FIRST);
+        PeekableIntIterator iterator = matches.getIntIterator();
+        while (iterator.hasNext()) {
+            Key key = keys[iterator.next()];
+            if (after != null && OLDEST_FIRST.compare(key, after) >= 0) {
+                continue;
+            }
+            newest.add(key);
+            if (newest.size() > limit) {
+                newest.poll();
+            }
+        }
+        List<Key> page = new ArrayList<>(newest);
+        page.sort(OLDEST_FIRST.reversed());
+        return page;
+    }
+
+    // number of ordinals whose key sorts before the cursor
+    private int olderThan(Key after) {
+        int low = 0;
+        int high = end;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (OLDEST_FIRST.compare(keys[middle], after) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private RoaringBitmap tagMatches(Filter filter) {
+        if (filter.tagIds().isEmpty()) {
+            return null;
+        }
+        if (filter.tagMatch() == TagMatch.ANY) {
+            return anyOf(postsByTag, filter.tagIds());
+        }
+        List<RoaringBitmap> bitmaps = new ArrayList<>(filter.tagIds().size());
+        for (UUID tagId : filter.tagIds()) {
+            RoaringBitmap posts = postsByTag.get(tagId);
+            if (posts == null) {
+                return new RoaringBitmap();
+            }
+            bitmaps.add(posts);
+        }
+        // smallest first, every and after that only gets cheaper
+        bitmaps.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+        RoaringBitmap result = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+            result = RoaringBitmap.and(result, bitmaps.get(i));
+        }
+        return result;
+    }
+
+    // null when the dimension is not filtered at all
+    private static RoaringBitmap anyOf(Map<UUID, RoaringBitmap> postsBy, Collection<UUID> keys) {
+        if (keys.isEmpty()) {
+            return null;
+        }
+        List<RoaringBitmap> bitmaps = new ArrayList<>(keys.size());
+        for (UUID key : keys) {
+            RoaringBitmap posts = postsBy.get(key);
+            if (posts != null) {
+                bitmaps.add(posts);
+            }
+        }
+        if (bitmaps.size() <= 1) {
+            return bitmaps.isEmpty() ? new RoaringBitmap() : bitmaps.get(0);
+        }
+        return FastAggregation.or(bitmaps.toArray(RoaringBitmap[]::new));
+    }
+
+    // the inputs are only ever read, so a single filter is returned as is
+    private static RoaringBitmap intersect(RoaringBitmap all, RoaringBitmap... filters) {
+        RoaringBitmap result = null;
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result = result == null ? filter : RoaringBitmap.and(result, filter);
+            }
+        }
+        return result == null ? all : result;
+    }
+
+    // most posts first, values with no posts in the selection are left out. a small selection is cheaper to walk,
+    // adding up the values of each post, than to and with the bitmap of every value
+    private static Map<UUID, Integer> counts(Map<UUID, RoaringBitmap> postsBy, Object[] valuesByOrdinal, RoaringBitmap selection) {
+        List<Map.Entry<UUID, Integer>> counts = new ArrayList<>();
+        if (selection.getLongCardinality() <= (long) postsBy.size() * SCAN_PER_VALUE) {
+            Map<UUID, int[]> tally = new HashMap<>();
+            PeekableIntIterator iterator = selection.getIntIterator();
+            while (iterator.hasNext()) {
+                Object values = valuesByOrdinal[iterator.next()];
+                if (values instanceof UUID[] many) {
+                    for (UUID value : many) {
+                        tally.computeIfAbsent(value, key -> new int[1])[0]++;
+                    }
+                } else {
+                    tally.computeIfAbsent((UUID) values, key -> new int[1])[0]++;
+                }
+            }
+            tally.forEach((key, count) -> counts.add(Map.entry(key, count[0])));
+        } else {
+            postsBy.forEach((key, posts) -> {
+                int count = RoaringBitmap.andCardinality(posts, selection);
+                if (count > 0) {
+                    counts.add(Map.entry(key, count));
+                }
+            });
+        }
+        counts.sort(Map.Entry.<UUID, Integer>comparingByValue().reversed());
+        Map<UUID, Integer> sorted = new LinkedHashMap<>();
+        counts.forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private void unlink(int ordinal) {
+        clear(postsByCategory, categories[ordinal], ordinal);
+        clear(postsByAuthor, authors[ordinal], ordinal);
+        for (UUID tagId : tags[ordinal]) {
+            clear(postsByTag, tagId, ordinal);
+        }
+    }
+
+    private static void clear(Map<UUID, RoaringBitmap> postsBy, UUID key, int ordinal) {
+        RoaringBitmap posts = postsBy.get(key);
+        posts.remove(ordinal);
+        if (posts.isEmpty()) {
+            postsBy.remove(key);
+        }
+    }
+
+    private int nextOrdinal() {
+        if (end == keys.length) {
+            int capacity = end * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            authors = Arrays.copyOf(authors, capacity);
+            tags = Arrays.copyOf(tags, capacity);
+        }
+        return end++;
+    }
+
+    public record Key(LocalDateTime createdAt, UUID id) {
+    }
+
+    // an empty collection leaves that dimension unfiltered; categories and authors always combine with ANY
+    public record Filter(Collection<UUID> tagIds, TagMatch tagMatch, Collection<UUID> categoryIds, Collection<UUID> authorIds) {
+    }
+
+    public record Result(List<Key> posts, boolean hasNext, int total, Map<UUID, Integer> tagCounts, Map<UUID, Integer> categoryCounts) {
+    }
+}
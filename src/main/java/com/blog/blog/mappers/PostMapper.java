@@ -1,15 +1,25 @@
 package com.blog.blog.mappers;
 
 import com.blog.blog.domain.CreatePostRequest;
+import com.blog.blog.domain.PostExportRow;
+import com.blog.blog.domain.PostSummary;
 import com.blog.blog.domain.UpdatePostRequest;
+import com.blog.blog.domain.dtos.CategoryDto;
 import com.blog.blog.domain.dtos.CreatePostRequestDto;
 import com.blog.blog.domain.dtos.PostDto;
+import com.blog.blog.domain.dtos.PostExportDto;
+import com.blog.blog.domain.dtos.PostSummaryDto;
+import com.blog.blog.domain.dtos.TagDto;
 import com.blog.blog.domain.dtos.UpdatePostRequestDto;
+import com.blog.blog.domain.entities.Category;
 import com.blog.blog.domain.entities.Post;
+import com.blog.blog.domain.entities.Tag;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
+import java.util.Set;
+
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 
 public interface PostMapper {
@@ -18,6 +28,18 @@ public interface PostMapper {
     @Mapping(target = "category", source = "category")
     @Mapping(target = "tags", source = "tags")
     PostDto toDto(Post post);
+
+    // counts are left out of embedded category and tags so cached post pages don't go stale when other posts change
+    @Mapping(target = "postCount", ignore = true)
+    CategoryDto toEmbeddedCategory(Category category);
+
+    @Mapping(target = "postCount", ignore = true)
+    TagDto toEmbeddedTag(Tag tag);
+
+    PostSummaryDto toSummaryDto(PostSummary summary, Set<String> tagNames);
+
+    PostExportDto toExportDto(PostExportRow row, Set<String> tagNames);
+
     CreatePostRequest toCreatePostRequest(CreatePostRequestDto dto);
     UpdatePostRequest toUpdatePostRequest(UpdatePostRequestDto dto);
 }
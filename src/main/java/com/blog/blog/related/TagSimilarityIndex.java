@@ -0,0 +1,186 @@
+package com.blog.blog.related;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// published posts by tag and by category as bitsets of post ordinals. related posts are scored by weighted jaccard
+// over tags plus the category, each weighted by ln(1 + posts / posts having it), so a shared niche tag counts for more
+// than a shared tag most posts carry. ordinals of removed posts are handed out again, the bitsets never grow past the live count by much
+public class TagSimilarityIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final Map<UUID, BitSet> postsByTag = new HashMap<>();
+    private final Map<UUID, BitSet> postsByCategory = new HashMap<>();
+    private final BitSet free = new BitSet();
+    private UUID[] ids = new UUID[64];
+    private UUID[] categories = new UUID[64];
+    private UUID[][] tags = new UUID[64][];
+    private long[] createdAt = new long[64];
+    private int end; // one past the highest ordinal ever handed out
+
+    public void put(UUID postId, UUID categoryId, Collection<UUID> tagIds, long createdAtMillis) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(postId);
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                unlink(ordinal);
+            } else {
+                ordinal = nextOrdinal();
+                ordinals.put(postId, ordinal);
+                ids[ordinal] = postId;
+            }
+            categories[ordinal] = categoryId;
+            tags[ordinal] = tagIds.stream().distinct().toArray(UUID[]::new);
+            createdAt[ordinal] = createdAtMillis;
+            postsByCategory.computeIfAbsent(categoryId, id -> new BitSet()).set(ordinal);
+            for (UUID tagId : tags[ordinal]) {
+                postsByTag.computeIfAbsent(tagId, id -> new BitSet()).set(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID postId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(postId);
+            if (ordinal != null) {
+                unlink(ordinal);
+                ids[ordinal] = null;
+                categories[ordinal] = null;
+                tags[ordinal] = null;
+                free.set(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<UUID> related(UUID postId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(postId);
+            if (ordinal == null || limit < 1) {
+                return List.of();
+            }
+            UUID[] ownTags = tags[ordinal];
+            UUID ownCategory = categories[ordinal];
+            double ownCategoryWeight = weight(postsByCategory.get(ownCategory));
+            Map<UUID, Double> ownTagWeights = new HashMap<>();
+            // cardinality walks the whole bitset, so weights of the candidates' tags and categories are worked out once per call
+            Map<UUID, Double> tagWeights = new HashMap<>();
+            Map<UUID, Double> categoryWeights = new HashMap<>();
+            double ownTotal = ownCategoryWeight;
+            BitSet candidates = (BitSet) postsByCategory.get(ownCategory).clone();
+            for (UUID tagId : ownTags) {
+                BitSet posts = postsByTag.get(tagId);
+                double weight = weight(posts);
+                ownTagWeights.put(tagId, weight);
+                ownTotal += weight;
+                candidates.or(posts);
+            }
+            candidates.clear(ordinal);
+
+            // worst of the best so far on top
+            Comparator<Match> worstFirst = Comparator.comparingDouble(Match::score).thenComparingLong(Match::createdAt);
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, worstFirst);
+            for (int other = candidates.nextSetBit(0); other >= 0; other = candidates.nextSetBit(other + 1)) {
+                double shared = 0;
+                double otherTotal = 0;
+                for (UUID tagId : tags[other]) {
+                    Double weight = ownTagWeights.get(tagId);
+                    if (weight != null) {
+                        shared += weight;
+                        otherTotal += weight;
+                    } else {
+                        otherTotal += tagWeights.computeIfAbsent(tagId, id -> weight(postsByTag.get(id)));
+                    }
+                }
+                if (ownCategory.equals(categories[other])) {
+                    shared += ownCategoryWeight;
+                    otherTotal += ownCategoryWeight;
+                } else {
+                    otherTotal += categoryWeights.computeIfAbsent(categories[other], id -> weight(postsByCategory.get(id)));
+                }
+                Match match = new Match(other, shared / (ownTotal + otherTotal - shared), createdAt[other]);
+                if (best.size() < limit) {
+                    best.add(match);
+                } else if (worstFirst.compare(match, best.peek()) > 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+            Match[] ranked = best.toArray(Match[]::new);
+            Arrays.sort(ranked, worstFirst.reversed());
+            List<UUID> result = new ArrayList<>(ranked.length);
+            for (Match match : ranked) {
+                result.add(ids[match.ordinal()]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double weight(BitSet posts) {
+        int having = posts == null ? 0 : posts.cardinality();
+        return Math.log(1 + (double) ordinals.size() / Math.max(having, 1));
+    }
+
+    private void unlink(int ordinal) {
+        clear(postsByCategory, categories[ordinal], ordinal);
+        for (UUID tagId : tags[ordinal]) {
+            clear(postsByTag, tagId, ordinal);
+        }
+    }
+
+    private static void clear(Map<UUID, BitSet> postsBy, UUID key, int ordinal) {
+        BitSet posts = postsBy.get(key);
+        posts.clear(ordinal);
+        if (posts.isEmpty()) {
+            postsBy.remove(key);
+        }
+    }
+
+    private int nextOrdinal() {
+        int ordinal = free.nextSetBit(0);
+        if (ordinal >= 0) {
+            free.clear(ordinal);
+            return ordinal;
+        }
+        if (end == ids.length) {
+            int capacity = end * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            tags = Arrays.copyOf(tags, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+        }
+        return end++;
+    }
+
+    private record Match(int ordinal, double score, long createdAt) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.blog.blog.reminders;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record BookingReminder(UUID bookingId, String name, String email, String service, LocalDateTime dateTime,
+                              boolean confirmed) {
+}
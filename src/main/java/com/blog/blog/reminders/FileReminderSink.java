@@ -0,0 +1,39 @@
+package com.blog.blog.reminders;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// appends one tab separated line per reminder, a whole batch per write
+@Component
+@ConditionalOnProperty(name = "blog.reminders.sink", havingValue = "file")
+public class FileReminderSink implements ReminderSink {
+
+    private final Path file;
+
+    public FileReminderSink(@Value("${blog.reminders.file:reminders.log}") Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void send(List<BookingReminder> reminders) {
+        List<String> lines = reminders.stream()
+                .map(reminder -> String.join("\t", reminder.dateTime().toString(), reminder.service(),
+                        reminder.email(), reminder.name(), String.valueOf(reminder.confirmed()),
+                        reminder.bookingId().toString()))
+                .toList();
+        try {
+            Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write reminders to " + file, e);
+        }
+    }
+}
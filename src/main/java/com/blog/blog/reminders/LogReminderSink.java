@@ -0,0 +1,21 @@
+package com.blog.blog.reminders;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "blog.reminders.sink", havingValue = "log", matchIfMissing = true)
+public class LogReminderSink implements ReminderSink {
+
+    @Override
+    public void send(List<BookingReminder> reminders) {
+        for (BookingReminder reminder : reminders) {
+            log.info("Reminder for booking {}: {} <{}>, {} at {}", reminder.bookingId(), reminder.name(),
+                    reminder.email(), reminder.service(), reminder.dateTime());
+        }
+    }
+}
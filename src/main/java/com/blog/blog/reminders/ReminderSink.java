@@ -0,0 +1,8 @@
+package com.blog.blog.reminders;
+
+import java.util.List;
+
+// where due booking reminders are delivered, a batch at a time; picked with blog.reminders.sink
+public interface ReminderSink {
+    void send(List<BookingReminder> reminders);
+}
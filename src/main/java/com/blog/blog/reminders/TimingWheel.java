@@ -0,0 +1,114 @@
+package com.blog.blog.reminders;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// hierarchical timing wheel: level i has size buckets of size^i ticks each, aligned to absolute time, and an item sits
+// in the lowest level whose bucket for it is less than a full turn ahead. when a higher level bucket comes round its
+// items drop to the levels below, so scheduling is O(levels) and a tick only touches the buckets due on it.
+// items beyond the top level wait in an overflow queue. not thread safe, one thread drives it
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int size;
+    private final long[] spans;
+    private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+    private final List<Entry<T>> ready = new ArrayList<>();
+    private final PriorityQueue<Entry<T>> overflow = new PriorityQueue<>(Comparator.comparingLong(Entry::dueTick));
+    private long currentTick;
+    private int count;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int size, int levels, long startMillis) {
+        if (tickMillis < 1 || size < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel shape");
+        }
+        this.tickMillis = tickMillis;
+        this.size = size;
+        this.spans = new long[levels];
+        long span = 1;
+        for (int i = 0; i < levels; i++) {
+            spans[i] = span;
+            List<Entry<T>>[] buckets = new List[size];
+            for (int j = 0; j < size; j++) {
+                buckets[j] = new ArrayList<>();
+            }
+            this.levels.add(buckets);
+            span = Math.multiplyExact(span, size);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public void schedule(T item, long dueMillis) {
+        place(new Entry<>(item, dueMillis, dueMillis / tickMillis));
+        count++;
+    }
+
+    // everything due up to the tick now falls in, in due order
+    public List<T> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        if (count == 0) {
+            currentTick = Math.max(currentTick, nowTick);
+            return List.of();
+        }
+        while (currentTick < nowTick) {
+            currentTick++;
+            for (int i = spans.length - 1; i >= 1; i--) {
+                if (currentTick % spans[i] == 0) {
+                    cascade(levels.get(i)[(int) ((currentTick / spans[i]) % size)]);
+                }
+            }
+            if (!overflow.isEmpty() && currentTick % spans[spans.length - 1] == 0) {
+                while (!overflow.isEmpty() && fits(overflow.peek().dueTick())) {
+                    place(overflow.poll());
+                }
+            }
+            List<Entry<T>> bucket = levels.get(0)[(int) (currentTick % size)];
+            ready.addAll(bucket);
+            bucket.clear();
+        }
+        if (ready.isEmpty()) {
+            return List.of();
+        }
+        ready.sort(Comparator.comparingLong(Entry::dueMillis));
+        List<T> due = ready.stream().map(Entry::item).toList();
+        count -= ready.size();
+        ready.clear();
+        return due;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private void cascade(List<Entry<T>> bucket) {
+        List<Entry<T>> entries = new ArrayList<>(bucket);
+        bucket.clear();
+        entries.forEach(this::place);
+    }
+
+    private void place(Entry<T> entry) {
+        if (entry.dueTick() <= currentTick) {
+            ready.add(entry);
+            return;
+        }
+        for (int i = 0; i < spans.length; i++) {
+            long bucket = entry.dueTick() / spans[i];
+            if (bucket - currentTick / spans[i] < size) {
+                levels.get(i)[(int) (bucket % size)].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private boolean fits(long dueTick) {
+        long top = spans[spans.length - 1];
+        return dueTick / top - currentTick / top < size;
+    }
+
+    private record Entry<T>(T item, long dueMillis, long dueTick) {
+    }
+}
@@ -1,16 +1,44 @@
 package com.blog.blog.repositories;
 
+import com.blog.blog.domain.dtos.BookingDayCountDto;
+import com.blog.blog.domain.dtos.BookingResponseDto;
 import com.blog.blog.domain.entities.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
     List<Booking> findByDateTimeBetweenOrderByDateTime(LocalDateTime start, LocalDateTime end);
     List<Booking> findByConfirmedFalseOrderByDateTime();
     List<Booking> findByEmailOrderByDateTimeDesc(String email);
+    <T> List<T> findAllByDateTimeAfter(LocalDateTime time, Class<T> type);
+    <T> List<T> findAllByDateTimeGreaterThanAndDateTimeLessThanEqual(LocalDateTime from, LocalDateTime to, Class<T> type);
+
+    // calendar: [from, to) keyset pages, optionally by confirmation
+    Window<Booking> findAllByDateTimeGreaterThanEqualAndDateTimeLessThan(LocalDateTime from, LocalDateTime to, ScrollPosition position, Limit limit, Sort sort);
+    Window<Booking> findAllByConfirmedAndDateTimeGreaterThanEqualAndDateTimeLessThan(boolean confirmed, LocalDateTime from, LocalDateTime to, ScrollPosition position, Limit limit, Sort sort);
+
+    @Query("SELECT new com.blog.blog.domain.dtos.BookingDayCountDto(cast(b.dateTime as LocalDate), count(b), sum(case when b.confirmed = true then 1 else 0 end)) " +
+            "FROM Booking b WHERE b.dateTime >= :from AND b.dateTime < :to " +
+            "GROUP BY cast(b.dateTime as LocalDate) ORDER BY cast(b.dateTime as LocalDate)")
+    List<BookingDayCountDto> countByDay(LocalDateTime from, LocalDateTime to);
+
+    // exports: dto projections read with a fetch size, rows are never managed entities
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.blog.blog.domain.dtos.BookingResponseDto(b.id, b.name, b.email, b.phone, b.service, b.dateTime, b.message, b.confirmed, b.createdAt) " +
+            "FROM Booking b WHERE b.dateTime BETWEEN :start AND :end ORDER BY b.dateTime")
+    Stream<BookingResponseDto> streamByDateTimeBetween(LocalDateTime start, LocalDateTime end);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.blog.blog.repositories;
+
+import com.blog.blog.domain.entities.BookingSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface BookingSlotRepository extends JpaRepository<BookingSlot, UUID> {
+}
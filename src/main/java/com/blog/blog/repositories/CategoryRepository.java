@@ -1,18 +1,32 @@
 package com.blog.blog.repositories;
 
+import com.blog.blog.domain.PostStatus;
 import com.blog.blog.domain.entities.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
-    @Query("SELECT c from Category c LEFT JOIN FETCH c.posts") // hibernate does the queries
-    List<Category> findAllWithPostCounts();
 
     boolean existsByNameIgnoreCase(String name);
 
+    List<Category> findByNameIn(Set<String> names);
+
+    @Modifying
+    @Query("UPDATE Category c SET c.postCount = c.postCount + :delta WHERE c.id = :id")
+    void addToPostCount(UUID id, long delta);
+
+    // only rewrites rows whose counter drifted
+    @Modifying
+    @Query("""
+            UPDATE Category c SET c.postCount = (SELECT COUNT(p) FROM Post p WHERE p.category = c AND p.status = :status)
+            WHERE c.postCount <> (SELECT COUNT(p) FROM Post p WHERE p.category = c AND p.status = :status)
+            """)
+    int reconcilePostCounts(PostStatus status);
 }
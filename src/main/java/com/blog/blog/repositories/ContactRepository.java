@@ -1,15 +1,27 @@
 package com.blog.blog.repositories;
 
+import com.blog.blog.domain.dtos.ContactResponseDto;
 import com.blog.blog.domain.entities.ContactMessage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContactRepository extends JpaRepository<ContactMessage, UUID> {
     List<ContactMessage> findAllByOrderByCreatedAtDesc();
     List<ContactMessage> findByIsReadFalseOrderByCreatedAtDesc();
     long countByIsReadFalse();
+
+    // exports: dto projections read with a fetch size, rows are never managed entities
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.blog.blog.domain.dtos.ContactResponseDto(c.id, c.name, c.email, c.message, c.createdAt, c.isRead) " +
+            "FROM ContactMessage c ORDER BY c.createdAt DESC")
+    Stream<ContactResponseDto> streamAllNewestFirst();
 }
\ No newline at end of file
@@ -1,21 +1,83 @@
 package com.blog.blog.repositories;
 
+import com.blog.blog.domain.PostExportRow;
+import com.blog.blog.domain.PostHeading;
 import com.blog.blog.domain.PostStatus;
+import com.blog.blog.domain.PostTagId;
+import com.blog.blog.domain.PostTagName;
+import com.blog.blog.domain.dtos.PostViewsDto;
 import com.blog.blog.domain.entities.Category;
 import com.blog.blog.domain.entities.Post;
 import com.blog.blog.domain.entities.Tag;
 import com.blog.blog.domain.entities.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, UUID> {
-    List<Post> findAllByStatusAndCategoryAndTagsContains(PostStatus status, Category category, Tag tag);
-    List<Post> findAllByStatusAndCategory(PostStatus status, Category category);
-    List<Post> findAllByStatusAndTagsContaining(PostStatus status, Tag tag);
-    List<Post> findAllByStatus(PostStatus status);
-    List<Post> findAllByAuthorAndStatus(User author, PostStatus status);
+    // paged variants: offset or keyset position, the limit and sort are pushed into sql
+    // type is Post for full entities or a projection such as PostSummary
+    <T> Window<T> findAllByStatusAndCategoryAndTagsContains(PostStatus status, Category category, Tag tag, ScrollPosition position, Limit limit, Sort sort, Class<T> type);
+    <T> Window<T> findAllByStatusAndCategory(PostStatus status, Category category, ScrollPosition position, Limit limit, Sort sort, Class<T> type);
+    <T> Window<T> findAllByStatusAndTagsContaining(PostStatus status, Tag tag, ScrollPosition position, Limit limit, Sort sort, Class<T> type);
+    <T> Window<T> findAllByStatus(PostStatus status, ScrollPosition position, Limit limit, Sort sort, Class<T> type);
+    <T> List<T> findAllByAuthorAndStatus(User author, PostStatus status, Class<T> type);
+    <T> List<T> findAllByIdInAndStatus(Collection<UUID> ids, PostStatus status, Class<T> type);
+    <T> Optional<T> findByIdAndStatus(UUID id, PostStatus status, Class<T> type);
+    boolean existsByCategoryId(UUID categoryId);
+    boolean existsByTagsId(UUID tagId);
+
+    @EntityGraph(attributePaths = {"author", "category", "tags"})
+    Optional<Post> findWithAssociationsById(UUID id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PostExportRow> streamAllByOrderByCreatedAtAscIdAsc();
+
+    // posts written before content was sanitized and analyzed on the server
+    @Query("SELECT p.id FROM Post p WHERE p.toc IS NULL OR p.contentHash IS NULL")
+    List<UUID> findLegacyIds(Limit limit);
+
+    <T> Optional<T> findProjectedById(UUID id, Class<T> type);
+
+    // bulk update, so migrating legacy posts does not bump updatedAt
+    @Modifying
+    @Query("UPDATE Post p SET p.content = :content, p.contentHash = :contentHash, p.wordCount = :wordCount, " +
+            "p.readingTime = :readingTime, p.excerpt = :excerpt, p.toc = :toc WHERE p.id = :id")
+    int updateLegacyContent(UUID id, String content, String contentHash, int wordCount, int readingTime, String excerpt, List<PostHeading> toc);
+
+    @Query("SELECT p.content FROM Post p WHERE p.contentHash = :contentHash AND p.status = :status")
+    List<String> findContentByContentHashAndStatus(String contentHash, PostStatus status, Limit limit);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.viewCount = p.viewCount + :delta WHERE p.id IN :ids")
+    int addToViewCount(Collection<UUID> ids, long delta);
+
+    @Query("SELECT new com.blog.blog.domain.dtos.PostViewsDto(p.id, p.title, p.viewCount) FROM Post p ORDER BY p.viewCount DESC, p.id")
+    List<PostViewsDto> findMostViewed(Limit limit);
+
+    @Query("SELECT p.updatedAt FROM Post p WHERE p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(UUID id);
+
+    @Query("SELECT p.id AS postId, t.name AS tagName FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<PostTagName> findTagNamesByPostIds(Collection<UUID> postIds);
+
+    @Query("SELECT p.id AS postId, t.id AS tagId FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<PostTagId> findTagIdsByPostIds(Collection<UUID> postIds);
 }
@@ -0,0 +1,9 @@
+package com.blog.blog.repositories;
+
+import com.blog.blog.domain.entities.ReminderWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReminderWatermarkRepository extends JpaRepository<ReminderWatermark, String> {
+}
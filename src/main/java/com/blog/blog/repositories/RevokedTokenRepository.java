@@ -0,0 +1,28 @@
+package com.blog.blog.repositories;
+
+import com.blog.blog.domain.entities.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    List<RevokedToken> findAllByExpiresAtAfter(LocalDateTime time);
+
+    // a plain insert, unlike save(), so an id revoked before fails on the primary key instead of being updated
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO RevokedToken (id, expiresAt) VALUES (:id, :expiresAt)")
+    int insert(UUID id, LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :time")
+    int deleteExpired(LocalDateTime time);
+}
@@ -1,10 +1,13 @@
 package com.blog.blog.repositories;
 
+import com.blog.blog.domain.PostStatus;
 import com.blog.blog.domain.entities.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -12,9 +15,17 @@ import java.util.UUID;
 @Repository
 public interface TagRepository extends JpaRepository<Tag, UUID> {
 
-    @Query("SELECT t FROM Tag t LEFT JOIN FETCH t.posts")
-    List<Tag> findAllTagsWithPostCounts();
-
     List<Tag> findByNameIn(Set<String> names);
-}
 
+    @Modifying
+    @Query("UPDATE Tag t SET t.postCount = t.postCount + :delta WHERE t.id IN :ids")
+    void addToPostCount(Collection<UUID> ids, int delta);
+
+    // only rewrites rows whose counter drifted
+    @Modifying
+    @Query("""
+            UPDATE Tag t SET t.postCount = (SELECT COUNT(p) FROM Post p JOIN p.tags pt WHERE pt = t AND p.status = :status)
+            WHERE t.postCount <> (SELECT COUNT(p) FROM Post p JOIN p.tags pt WHERE pt = t AND p.status = :status)
+            """)
+    int reconcilePostCounts(PostStatus status);
+}
@@ -0,0 +1,5 @@
+package com.blog.blog.search;
+
+// distinct terms of one document with their (weighted) frequencies, as parallel arrays
+public record AnalyzedText(String[] terms, int[] frequencies, int length) {
+}
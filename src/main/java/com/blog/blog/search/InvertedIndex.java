@@ -0,0 +1,205 @@
+package com.blog.blog.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// BM25 index over documents numbered by ordinal. Postings are primitive int arrays that only ever get appended to:
+// re-indexing a document retires its old ordinal and gives it a new one, so every list stays sorted by ordinal.
+// Retired ordinals are skipped at query time until the owner rebuilds the index.
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final BitSet retired = new BitSet();
+    private UUID[] ids = new UUID[1024];
+    private int[] lengths = new int[1024];
+    private int size;
+    private int liveCount;
+    private long liveLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(UUID id, AnalyzedText text) {
+        lock.writeLock().lock();
+        try {
+            retire(id);
+            int ordinal = size++;
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                lengths = Arrays.copyOf(lengths, lengths.length * 2);
+            }
+            ids[ordinal] = id;
+            lengths[ordinal] = text.length();
+            ordinals.put(id, ordinal);
+            liveCount++;
+            liveLength += text.length();
+            for (int i = 0; i < text.terms().length; i++) {
+                postings.computeIfAbsent(text.terms()[i], term -> new Postings()).add(ordinal, text.frequencies()[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            retire(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(Collection<String> terms, int limit) {
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return List.of();
+            }
+            float averageLength = (float) liveLength / liveCount;
+            float[] scores = new float[size];
+            for (String term : new HashSet<>(terms)) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    list.score(scores, averageLength);
+                }
+            }
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int liveCount() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int retiredCount() {
+        lock.readLock().lock();
+        try {
+            return size - liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void retire(UUID id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal != null) {
+            retired.set(ordinal);
+            liveCount--;
+            liveLength -= lengths[ordinal];
+        }
+    }
+
+    // min-heap of the best k ordinals, kept in two primitive arrays
+    private List<SearchHit> topHits(float[] scores, int limit) {
+        int[] heap = new int[limit];
+        int heapSize = 0;
+        for (int doc = 0; doc < scores.length; doc++) {
+            float score = scores[doc];
+            if (score <= 0) {
+                continue;
+            }
+            if (heapSize < limit) {
+                heap[heapSize] = doc;
+                siftUp(heap, heapSize++, scores);
+            } else if (score > scores[heap[0]]) {
+                heap[0] = doc;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(heapSize);
+        for (int i = 0; i < heapSize; i++) {
+            hits.add(new SearchHit(ids[heap[i]], scores[heap[i]]));
+        }
+        hits.sort(Comparator.comparingDouble(SearchHit::score).reversed());
+        return hits;
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (scores[heap[parent]] <= scores[heap[index]]) {
+                return;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int heapSize, float[] scores) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < heapSize && scores[heap[left]] < scores[heap[smallest]]) {
+                smallest = left;
+            }
+            if (right < heapSize && scores[heap[right]] < scores[heap[smallest]]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(heap, smallest, index);
+            index = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    public record SearchHit(UUID id, float score) {
+    }
+
+    private class Postings {
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int count;
+
+        void add(int doc, int frequency) {
+            if (count == docs.length) {
+                docs = Arrays.copyOf(docs, count * 2);
+                frequencies = Arrays.copyOf(frequencies, count * 2);
+            }
+            docs[count] = doc;
+            frequencies[count] = frequency;
+            count++;
+        }
+
+        void score(float[] scores, float averageLength) {
+            int documentFrequency = 0;
+            for (int i = 0; i < count; i++) {
+                if (!retired.get(docs[i])) {
+                    documentFrequency++;
+                }
+            }
+            if (documentFrequency == 0) {
+                return;
+            }
+            float idf = (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            for (int i = 0; i < count; i++) {
+                int doc = docs[i];
+                if (retired.get(doc)) {
+                    continue;
+                }
+                float tf = frequencies[i];
+                float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.blog.blog.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// single pass tokenizer over TipTap html: tags are skipped, entities break words, tokens are lowercased and accent folded
+public final class TextAnalyzer {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private TextAnalyzer() {
+    }
+
+    public static AnalyzedText analyze(String title, String html) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] length = new int[1];
+        tokenize(title, token -> {
+            frequencies.computeIfAbsent(token, t -> new int[1])[0] += TITLE_WEIGHT;
+            length[0] += TITLE_WEIGHT;
+        });
+        tokenize(html, token -> {
+            frequencies.computeIfAbsent(token, t -> new int[1])[0]++;
+            length[0]++;
+        });
+
+        String[] terms = new String[frequencies.size()];
+        int[] counts = new int[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            terms[i] = entry.getKey();
+            counts[i] = entry.getValue()[0];
+            i++;
+        }
+        return new AnalyzedText(terms, counts, length[0]);
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, tokens::add);
+        return tokens;
+    }
+
+    private static void tokenize(String text, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder token = new StringBuilder();
+        boolean inTag = false;
+        boolean folded = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inTag) {
+                inTag = c != '>';
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+                folded |= c > 127;
+                continue;
+            }
+            emit(token, folded, sink);
+            folded = false;
+            if (c == '<') {
+                inTag = true;
+            } else if (c == '&') {
+                int end = text.indexOf(';', i);
+                if (end > i && end - i <= 8) {
+                    i = end; // &nbsp; &amp; ... separate words like whitespace does
+                }
+            }
+        }
+        emit(token, folded, sink);
+    }
+
+    private static void emit(StringBuilder token, boolean folded, Consumer<String> sink) {
+        if (token.length() >= MIN_TOKEN_LENGTH) {
+            sink.accept(folded ? fold(token.toString()) : token.toString());
+        }
+        token.setLength(0);
+    }
+
+    // "mâncare" and "mancare" should find each other
+    private static String fold(String token) {
+        String decomposed = Normalizer.normalize(token, Normalizer.Form.NFD);
+        StringBuilder ascii = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                ascii.append(c);
+            }
+        }
+        return ascii.toString();
+    }
+}
@@ -1,9 +1,12 @@
 package com.blog.blog.security;
 
+import com.blog.blog.domain.dtos.AuthResponse;
 import org.springframework.security.core.userdetails.UserDetails;
 
 public interface AuthenticationService {
     UserDetails authenticate(String email, String password);
-    String generateToken(UserDetails userDetails);
+    AuthResponse generateTokens(UserDetails userDetails);
+    AuthResponse refresh(String refreshToken);
+    void logout(String refreshToken);
     UserDetails validateToken(String token);
 }
@@ -0,0 +1,43 @@
+package com.blog.blog.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+// picks the highest bcrypt cost whose hash still fits the latency budget on this machine. every step of cost doubles
+// the work, so one timing at the lowest allowed cost is enough to extrapolate; the fastest of a few runs is used,
+// the others mostly measure the jit and the gc
+@Slf4j
+public final class BcryptCostCalibrator {
+
+    private static final int PROBE_RUNS = 3;
+
+    private BcryptCostCalibrator() {
+    }
+
+    public static int calibrate(Duration budget, int minCost, int maxCost) {
+        String salt = BCrypt.gensalt(minCost);
+        BCrypt.hashpw("calibration", salt); // warm up
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_RUNS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        int cost = costFor(budget, minCost, fastest, maxCost);
+        log.info("bcrypt cost {} chosen for a {} ms budget, cost {} took {} ms",
+                cost, budget.toMillis(), minCost, fastest / 1_000_000);
+        return cost;
+    }
+
+    static int costFor(Duration budget, int probeCost, long probeNanos, int maxCost) {
+        int cost = probeCost;
+        long nanos = Math.max(probeNanos, 1);
+        while (cost < maxCost && nanos * 2 <= budget.toNanos()) {
+            nanos *= 2;
+            cost++;
+        }
+        return cost;
+    }
+}
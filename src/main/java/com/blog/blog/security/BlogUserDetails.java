@@ -1,8 +1,8 @@
 package com.blog.blog.security;
 
 import com.blog.blog.domain.entities.User;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,17 +12,30 @@ import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+// built from the users row when logging in and from the token claims on every other request, which carry no password
 @Getter
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class BlogUserDetails implements UserDetails {
 
-    private final User user;
+    private final UUID id;
+    private final String email;
+    private final String name;
+    private final String password;
+    private final boolean admin;
+
+    public BlogUserDetails(User user) {
+        this(user.getId(), user.getEmail(), user.getName(), user.getPassword(), user.isAdmin());
+    }
+
+    public static BlogUserDetails fromClaims(UUID id, String email, String name, boolean admin) {
+        return new BlogUserDetails(id, email, name, null, admin);
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         List<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
-        if (user.isAdmin()) {
+        if (admin) {
             authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
         }
         return authorities;
@@ -30,12 +43,12 @@ public class BlogUserDetails implements UserDetails {
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -57,8 +70,4 @@ public class BlogUserDetails implements UserDetails {
     public boolean isEnabled() {
         return true;
     }
-
-    public UUID getId() {
-        return user.getId();
-    }
 }
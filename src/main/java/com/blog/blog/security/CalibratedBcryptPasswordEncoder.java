@@ -0,0 +1,41 @@
+package com.blog.blog.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+// bcrypt at the cost BcryptCostCalibrator picks, calibrated on a background thread so its hashes stay off the startup
+// path. the first login or registration waits for it if it is still running
+public class CalibratedBcryptPasswordEncoder implements PasswordEncoder {
+
+    private final CompletableFuture<BCryptPasswordEncoder> encoder = new CompletableFuture<>();
+
+    public CalibratedBcryptPasswordEncoder(Duration budget, int minCost, int maxCost) {
+        Thread calibration = new Thread(() -> {
+            try {
+                encoder.complete(new BCryptPasswordEncoder(BcryptCostCalibrator.calibrate(budget, minCost, maxCost)));
+            } catch (RuntimeException e) {
+                encoder.completeExceptionally(e);
+            }
+        }, "bcrypt-calibration");
+        calibration.setDaemon(true);
+        calibration.start();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encoder.join().encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return encoder.join().matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.join().upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,114 @@
+package com.blog.blog.security;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// revoked token ids, each kept until the token it names would have expired anyway. a bloom filter answers the common
+// case (never revoked) from a few bit reads and the exact map behind it settles the rare hits, so a lookup takes no
+// lock and allocates nothing. the filter cannot forget ids: prune rebuilds it from what is left, and it is rebuilt
+// twice as large whenever it holds more ids than it was sized for
+public class TokenDenylist {
+
+    private static final int BITS_PER_ID = 10;
+    private static final int HASHES = 7; // about 1% false positives at 10 bits per id
+
+    private final Map<UUID, Long> expiries = new ConcurrentHashMap<>();
+    private final int minCapacity;
+    private volatile Bloom bloom;
+
+    public TokenDenylist(int expectedIds) {
+        this.minCapacity = Math.max(expectedIds, 64);
+        this.bloom = new Bloom(minCapacity);
+    }
+
+    // false when the id was already revoked, which makes revoking a check-and-set
+    public synchronized boolean revoke(UUID id, long expiresAtMillis) {
+        Long previous = expiries.putIfAbsent(id, expiresAtMillis);
+        if (previous != null) {
+            if (expiresAtMillis > previous) {
+                expiries.put(id, expiresAtMillis);
+            }
+            return false;
+        }
+        if (expiries.size() > bloom.capacity) {
+            bloom = rebuild(expiries.size() * 2);
+        } else {
+            bloom.add(id);
+        }
+        return true;
+    }
+
+    public boolean isRevoked(UUID id, long nowMillis) {
+        if (id == null || !bloom.mightContain(id)) {
+            return false;
+        }
+        Long expiresAt = expiries.get(id);
+        return expiresAt != null && expiresAt > nowMillis;
+    }
+
+    public synchronized int prune(long nowMillis) {
+        int before = expiries.size();
+        expiries.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        bloom = rebuild(expiries.size() * 2);
+        return before - expiries.size();
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+
+    private Bloom rebuild(int capacity) {
+        Bloom rebuilt = new Bloom(Math.max(capacity, minCapacity));
+        expiries.keySet().forEach(rebuilt::add);
+        return rebuilt;
+    }
+
+    // adds only happen under the denylist's lock, lookups read the words without one
+    private static final class Bloom {
+
+        private final int capacity;
+        private final AtomicLongArray words;
+        private final long mask;
+
+        Bloom(int capacity) {
+            this.capacity = capacity;
+            long bits = Long.highestOneBit((long) capacity * BITS_PER_ID - 1) << 1;
+            this.words = new AtomicLongArray((int) (bits >>> 6));
+            this.mask = bits - 1;
+        }
+
+        void add(UUID id) {
+            long h1 = mix(id.getMostSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = (h1 + i * h2) & mask;
+                int word = (int) (bit >>> 6);
+                words.set(word, words.get(word) | (1L << bit));
+            }
+        }
+
+        boolean mightContain(UUID id) {
+            long h1 = mix(id.getMostSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = (h1 + i * h2) & mask;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // murmur3 finalizer, version and variant bits of a uuid would otherwise land on the same filter bits
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
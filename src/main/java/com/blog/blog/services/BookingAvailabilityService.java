@@ -0,0 +1,14 @@
+package com.blog.blog.services;
+
+import com.blog.blog.domain.dtos.AvailabilityDto;
+import com.blog.blog.domain.entities.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface BookingAvailabilityService {
+    List<AvailabilityDto> getAvailability(LocalDateTime from, LocalDateTime to, String service);
+    Booking book(Booking booking);
+    void release(UUID bookingId);
+}
@@ -1,8 +1,12 @@
 package com.blog.blog.services;
 
+import com.blog.blog.domain.BookingPage;
+import com.blog.blog.domain.dtos.BookingDayCountDto;
 import com.blog.blog.domain.dtos.BookingRequestDto;
 import com.blog.blog.domain.dtos.BookingResponseDto;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -10,6 +14,8 @@ public interface BookingService {
     public BookingResponseDto createBooking(BookingRequestDto bookingRequestDto);
     public List<BookingResponseDto> getUpcomingBookings();
     public List<BookingResponseDto> getUnconfirmedBookings();
+    public BookingPage getBookings(LocalDateTime from, LocalDateTime to, Boolean confirmed, String cursor, int size);
+    public List<BookingDayCountDto> countBookingsByDay(LocalDate from, LocalDate to);
     public List<BookingResponseDto> getBookingsByEmail(String email);
     public BookingResponseDto confirmBooking(UUID id);
     public void cancelBooking(UUID id);
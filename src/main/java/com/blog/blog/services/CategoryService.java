@@ -4,6 +4,7 @@ package com.blog.blog.services;
 import com.blog.blog.domain.entities.Category;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface CategoryService {
@@ -13,4 +14,8 @@ public interface CategoryService {
 
     void deleteCategory(UUID id);
     Category getCategoryById(UUID id);
+    List<Category> getCategoriesByIds(Set<UUID> ids);
+    List<Category> getCategoriesByNames(Set<String> names);
+    void addToPostCount(UUID id, long delta);
+    int reconcilePostCounts();
 }
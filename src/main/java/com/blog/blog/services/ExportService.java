@@ -0,0 +1,13 @@
+package com.blog.blog.services;
+
+import com.blog.blog.domain.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface ExportService {
+    void exportPosts(ExportFormat format, OutputStream out) throws IOException;
+    void exportBookings(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out) throws IOException;
+    void exportContactMessages(ExportFormat format, OutputStream out) throws IOException;
+}
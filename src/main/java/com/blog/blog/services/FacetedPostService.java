@@ -0,0 +1,11 @@
+package com.blog.blog.services;
+
+import com.blog.blog.domain.TagMatch;
+import com.blog.blog.domain.dtos.FacetedPostsDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface FacetedPostService {
+    FacetedPostsDto filterPosts(List<UUID> tagIds, TagMatch tagMatch, List<UUID> categoryIds, List<UUID> authorIds, String cursor, int size);
+}
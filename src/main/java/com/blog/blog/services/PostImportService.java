@@ -0,0 +1,12 @@
+package com.blog.blog.services;
+
+import com.blog.blog.domain.dtos.ImportProgressDto;
+import com.blog.blog.domain.entities.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface PostImportService {
+    ImportProgressDto importPosts(User author, InputStream ndjson, Consumer<ImportProgressDto> progress) throws IOException;
+}
@@ -0,0 +1,9 @@
+package com.blog.blog.services;
+
+import com.blog.blog.domain.dtos.PostSummaryDto;
+
+import java.util.List;
+
+public interface PostSearchService {
+    List<PostSummaryDto> search(String query, int limit);
+}
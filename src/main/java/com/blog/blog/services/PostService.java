@@ -3,18 +3,33 @@ package com.blog.blog.services;
 import com.blog.blog.domain.CreatePostRequest;
 import com.blog.blog.domain.UpdatePostRequest;
 import com.blog.blog.domain.dtos.CreatePostRequestDto;
+import com.blog.blog.domain.dtos.PostSummaryDto;
+import com.blog.blog.domain.dtos.PostViewsDto;
 import com.blog.blog.domain.dtos.UpdatePostRequestDto;
 import com.blog.blog.domain.entities.Post;
 import com.blog.blog.domain.entities.User;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface PostService {
     Post getPost(UUID id);
-    List<Post> getAllPosts(UUID categoryId, UUID tagId);
+    LocalDateTime getPostUpdatedAt(UUID id);
+    Window<Post> getAllPosts(UUID categoryId, UUID tagId, ScrollPosition position, int size);
+    Window<PostSummaryDto> getPostSummaries(UUID categoryId, UUID tagId, ScrollPosition position, int size);
+    List<PostSummaryDto> getPublishedSummaries(List<UUID> ids);
     List<Post> getDraftPosts(User user);
+    List<PostSummaryDto> getDraftSummaries(User user);
     Post createPost(User user, CreatePostRequest createPostRequest);
     Post updatePost(UUID id, UpdatePostRequest updatePostRequest);  //se poate implementa ca sa editeze doar cine scrie postarea
     void deletePost(UUID id);
+    List<Post> importPosts(User author, List<CreatePostRequest> createPostRequests);
+    int migrateLegacyPosts(int batchSize);
+    String getContentByHash(String contentHash);
+    void addViews(Map<UUID, Long> views);
+    List<PostViewsDto> getMostViewed(int size);
 }
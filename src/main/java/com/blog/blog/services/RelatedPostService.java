@@ -0,0 +1,10 @@
+package com.blog.blog.services;
+
+import com.blog.blog.domain.dtos.PostSummaryDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface RelatedPostService {
+    List<PostSummaryDto> getRelatedPosts(UUID postId, int limit);
+}
@@ -2,6 +2,7 @@ package com.blog.blog.services;
 
 import com.blog.blog.domain.entities.Tag;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -12,4 +13,6 @@ public interface TagService {
     void deleteTag(UUID id);
     Tag getTagById(UUID id);
     List<Tag> getTagsByIds(Set<UUID> ids);
+    void addToPostCount(Collection<UUID> ids, int delta);
+    int reconcilePostCounts();
 }
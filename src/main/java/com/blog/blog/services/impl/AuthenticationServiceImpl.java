@@ -1,12 +1,15 @@
 package com.blog.blog.services.impl;
 
+import com.blog.blog.domain.dtos.AuthResponse;
 import com.blog.blog.security.AuthenticationService;
-import io.github.cdimascio.dotenv.Dotenv;
+import com.blog.blog.security.BlogUserDetails;
+import com.blog.blog.services.UserService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,22 +18,56 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
+// access tokens are short-lived; a refresh token trades itself for a new pair exactly once. every token of a login
+// carries the same session id, so logging out, or replaying a refresh token that was already used, revokes them all
 @Service
-@RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
 
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
+    private final UserService userService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevokedTokenStore revokedTokenStore;
+    private final long accessTtlMs;
+    private final long refreshTtlMs;
+    // derived once; the parser is immutable and safe to share between requests
+    private final Key signingKey;
+    private final JwtParser parser;
 
+    // claims that let a request be authenticated without reading the users table
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String NAME_CLAIM = "name";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String ADMIN_ROLE = "ADMIN";
+    private static final String SESSION_CLAIM = "sid";
+    private static final String TYPE_CLAIM = "typ";
+    private static final String REFRESH_TYPE = "refresh";
 
-    private static Dotenv dotenv = Dotenv.load();
-    private final String secretKey = dotenv.get("JWT_SECRET");
-
-    private final Long jwtExpiryMs = 86400000L; //24h
+    public AuthenticationServiceImpl(AuthenticationManager authenticationManager,
+                                     UserDetailsService userDetailsService,
+                                     UserService userService,
+                                     VerifiedTokenCache verifiedTokenCache,
+                                     RevokedTokenStore revokedTokenStore,
+                                     @Value("${blog.jwt.access-ttl:PT15M}") Duration accessTtl,
+                                     @Value("${blog.jwt.refresh-ttl:P14D}") Duration refreshTtl,
+                                     @Value("${JWT_SECRET}") String secretKey) {
+        this.authenticationManager = authenticationManager;
+        this.userDetailsService = userDetailsService;
+        this.userService = userService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revokedTokenStore = revokedTokenStore;
+        this.accessTtlMs = accessTtl.toMillis();
+        this.refreshTtlMs = refreshTtl.toMillis();
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
 
     @Override
     public UserDetails authenticate(String email, String password) {
@@ -41,34 +78,114 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     }
 
     @Override
-    public String generateToken(UserDetails userDetails) {
+    public AuthResponse generateTokens(UserDetails userDetails) {
+        return issue(userDetails, UUID.randomUUID());
+    }
+
+    @Override
+    public AuthResponse refresh(String refreshToken) {
+        Claims claims = parseRefreshToken(refreshToken);
+        UUID sessionId = UUID.fromString(claims.get(SESSION_CLAIM, String.class));
+        if (revokedTokenStore.isRevoked(sessionId)) {
+            throw new JwtException("Refresh token has been revoked");
+        }
+        if (!revokedTokenStore.revoke(UUID.fromString(claims.getId()), claims.getExpiration().getTime())) {
+            // used before, so one of the two holders is not the user: end the session for both
+            revokedTokenStore.revoke(sessionId, System.currentTimeMillis() + refreshTtlMs);
+            throw new JwtException("Refresh token has been revoked");
+        }
+        // roles are read again, so a change to the user reaches its tokens within one access ttl
+        UUID userId = UUID.fromString(claims.get(USER_ID_CLAIM, String.class));
+        return issue(new BlogUserDetails(userService.getUserById(userId)), sessionId);
+    }
+
+    @Override
+    public void logout(String refreshToken) {
+        Claims claims = parseRefreshToken(refreshToken);
+        // every token of the session was issued before now, so none outlives a refresh ttl from here
+        UUID sessionId = UUID.fromString(claims.get(SESSION_CLAIM, String.class));
+        revokedTokenStore.revoke(sessionId, System.currentTimeMillis() + refreshTtlMs);
+    }
+
+    @Override
+    public UserDetails validateToken(String token) {
+        VerifiedTokenCache.Verified verified = verifiedTokenCache.get(token, this::verify);
+        if (revokedTokenStore.isRevoked(verified.tokenId()) || revokedTokenStore.isRevoked(verified.sessionId())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return verified.userDetails();
+    }
+
+    private AuthResponse issue(UserDetails userDetails, UUID sessionId) {
+        long now = System.currentTimeMillis();
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof BlogUserDetails blogUser) {
+            claims.put(USER_ID_CLAIM, blogUser.getId().toString());
+            claims.put(NAME_CLAIM, blogUser.getName());
+            claims.put(ROLES_CLAIM, blogUser.isAdmin() ? List.of("USER", ADMIN_ROLE) : List.of("USER"));
+        }
+        claims.put(SESSION_CLAIM, sessionId.toString());
+        String accessToken = sign(claims, userDetails.getUsername(), now, accessTtlMs);
+
+        claims.remove(NAME_CLAIM);
+        claims.remove(ROLES_CLAIM);
+        claims.put(TYPE_CLAIM, REFRESH_TYPE);
+        String refreshToken = sign(claims, userDetails.getUsername(), now, refreshTtlMs);
+
+        return AuthResponse.builder()
+                .token(accessToken)
+                .expiresIn(accessTtlMs / 1000)
+                .refreshToken(refreshToken)
+                .refreshExpiresIn(refreshTtlMs / 1000)
+                .build();
+    }
+
+    private String sign(Map<String, Object> claims, String subject, long now, long ttlMs) {
         return Jwts.builder()
                 .setClaims(claims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiryMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(subject)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttlMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    @Override
-    public UserDetails validateToken(String token) {
-        String username = extractUsername(token);
-        return userDetailsService.loadUserByUsername(username);
+    private Claims parseRefreshToken(String refreshToken) {
+        Claims claims = parser.parseClaimsJws(refreshToken).getBody();
+        if (!REFRESH_TYPE.equals(claims.get(TYPE_CLAIM)) || claims.getId() == null) {
+            throw new JwtException("Not a refresh token");
+        }
+        return claims;
+    }
+
+    private VerifiedTokenCache.Verified verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (REFRESH_TYPE.equals(claims.get(TYPE_CLAIM))) {
+            throw new JwtException("Refresh tokens cannot authenticate requests");
+        }
+        // tokens issued before jti and sid were added have neither and cannot be revoked, they expire within 24h
+        return new VerifiedTokenCache.Verified(toUserDetails(claims),
+                toUuid(claims.getId()),
+                toUuid(claims.get(SESSION_CLAIM, String.class)),
+                claims.getExpiration().getTime());
     }
 
-    private String extractUsername(String token) {
-       Claims claims =  Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-       return claims.getSubject();
+    private UserDetails toUserDetails(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        if (userId == null) {
+            // issued before the claims were added, goes away once those tokens expire
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return BlogUserDetails.fromClaims(
+                UUID.fromString(userId),
+                claims.getSubject(),
+                claims.get(NAME_CLAIM, String.class),
+                roles != null && roles.contains(ADMIN_ROLE));
     }
 
-    private Key getSigningKey(){
-        byte[] secretBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(secretBytes);
+    private static UUID toUuid(String value) {
+        return value == null ? null : UUID.fromString(value);
     }
 }
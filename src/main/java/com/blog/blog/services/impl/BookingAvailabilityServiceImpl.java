@@ -0,0 +1,207 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.availability.IntervalIndex;
+import com.blog.blog.availability.StripedLocks;
+import com.blog.blog.domain.BookingTime;
+import com.blog.blog.domain.dtos.AvailabilityDto;
+import com.blog.blog.domain.entities.Booking;
+import com.blog.blog.domain.entities.BookingSlot;
+import com.blog.blog.repositories.BookingRepository;
+import com.blog.blog.repositories.BookingSlotRepository;
+import com.blog.blog.services.BookingAvailabilityService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+
+// every booking takes one slot-length from its start, kept per service in an in-memory interval index that the
+// availability queries and the conflict check read. a booking locks the grid cells it covers, checks the index and
+// commits itself with its cell claims before unlocking, so a second booking of the same time waits and then sees it;
+// the unique claims catch what another instance books at the same moment
+@Slf4j
+@Service
+public class BookingAvailabilityServiceImpl implements BookingAvailabilityService {
+
+    private static final String SLOT_TAKEN = "That time is already booked";
+
+    private final BookingRepository bookingRepository;
+    private final BookingSlotRepository bookingSlotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<String> services;
+    private final Duration slotLength;
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+    private final Set<DayOfWeek> workingDays;
+    private final Duration maxRange;
+    private final IntervalIndex index = new IntervalIndex();
+    private final StripedLocks locks;
+
+    public BookingAvailabilityServiceImpl(BookingRepository bookingRepository,
+                                          BookingSlotRepository bookingSlotRepository,
+                                          TransactionTemplate transactionTemplate,
+                                          @Value("${blog.bookings.services:initial,followup,mealplan,sport}") List<String> services,
+                                          @Value("${blog.bookings.slot-length:PT1H}") Duration slotLength,
+                                          @Value("${blog.bookings.day-start:09:00}") String dayStart,
+                                          @Value("${blog.bookings.day-end:17:00}") String dayEnd,
+                                          @Value("${blog.bookings.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}") List<DayOfWeek> workingDays,
+                                          @Value("${blog.bookings.max-range:P31D}") Duration maxRange,
+                                          @Value("${blog.bookings.lock-stripes:64}") int lockStripes) {
+        this.bookingRepository = bookingRepository;
+        this.bookingSlotRepository = bookingSlotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.services = services;
+        this.slotLength = slotLength;
+        this.dayStart = LocalTime.parse(dayStart);
+        this.dayEnd = LocalTime.parse(dayEnd);
+        this.workingDays = workingDays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(workingDays);
+        this.maxRange = maxRange;
+        this.locks = new StripedLocks(lockStripes);
+    }
+
+    // before the app takes requests, nothing can be booked against an empty index
+    @PostConstruct
+    public void load() {
+        List<BookingTime> bookings = bookingRepository.findAllByDateTimeAfter(
+                LocalDateTime.now().minus(slotLength), BookingTime.class);
+        for (BookingTime booking : bookings) {
+            index(booking.getId(), booking.getService(), booking.getDateTime());
+        }
+        log.info("Indexed {} upcoming bookings", bookings.size());
+    }
+
+    @Override
+    public List<AvailabilityDto> getAvailability(LocalDateTime from, LocalDateTime to, String service) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new IllegalArgumentException("The range can be at most " + maxRange.toDays() + " days");
+        }
+        if (service != null) {
+            requireKnown(service);
+        }
+        long[] candidates = candidateStarts(from.isAfter(LocalDateTime.now()) ? from : LocalDateTime.now(), to);
+        long length = slotLength.toSeconds();
+        return (service == null ? services : List.of(service)).stream()
+                .map(name -> AvailabilityDto.builder()
+                        .service(name)
+                        .slotMinutes(slotLength.toMinutes())
+                        .freeSlots(index.free(name, candidates, length).stream()
+                                .map(BookingAvailabilityServiceImpl::toLocalDateTime)
+                                .toList())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public Booking book(Booking booking) {
+        String service = booking.getService();
+        requireKnown(service);
+        long start = toSeconds(booking.getDateTime());
+        long end = start + slotLength.toSeconds();
+        List<LocalDateTime> cells = cellsCovering(booking.getDateTime());
+        List<Lock> locked = locks.lock(cells.stream().map(cell -> service + '@' + cell).toList());
+        try {
+            if (index.overlaps(service, start, end)) {
+                throw new IllegalStateException(SLOT_TAKEN);
+            }
+            Booking saved;
+            try {
+                saved = transactionTemplate.execute(status -> {
+                    Booking savedBooking = bookingRepository.save(booking);
+                    bookingSlotRepository.saveAllAndFlush(cells.stream()
+                            .map(cell -> new BookingSlot(null, savedBooking, service, cell))
+                            .toList());
+                    return savedBooking;
+                });
+            } catch (DataIntegrityViolationException e) {
+                throw new IllegalStateException(SLOT_TAKEN);
+            }
+            index(saved.getId(), service, saved.getDateTime());
+            return saved;
+        } finally {
+            StripedLocks.unlock(locked);
+        }
+    }
+
+    @Override
+    public void release(UUID bookingId) {
+        index.remove(bookingId);
+    }
+
+    @Scheduled(initialDelayString = "${blog.bookings.prune-interval:PT1H}",
+            fixedDelayString = "${blog.bookings.prune-interval:PT1H}")
+    public void prune() {
+        int pruned = index.removeEndingBefore(toSeconds(LocalDateTime.now()));
+        if (pruned > 0) {
+            log.info("Pruned {} past bookings from the availability index", pruned);
+        }
+    }
+
+    // a service outside the list would have its own calendar that availability never shows
+    private void requireKnown(String service) {
+        if (!services.contains(service)) {
+            throw new IllegalArgumentException("Unknown service: " + service);
+        }
+    }
+
+    private void index(UUID id, String service, LocalDateTime dateTime) {
+        long start = toSeconds(dateTime);
+        index.put(id, service, start, start + slotLength.toSeconds());
+    }
+
+    // the grid starts at day-start every day; a booking off the grid covers two cells, and any two overlapping
+    // bookings share at least one
+    private List<LocalDateTime> cellsCovering(LocalDateTime start) {
+        LocalDateTime origin = start.toLocalDate().atTime(dayStart);
+        long length = slotLength.toSeconds();
+        long offset = Math.floorDiv(Duration.between(origin, start).toSeconds(), length) * length;
+        LocalDateTime end = start.plus(slotLength);
+        List<LocalDateTime> cells = new ArrayList<>(2);
+        for (LocalDateTime cell = origin.plusSeconds(offset); cell.isBefore(end); cell = cell.plus(slotLength)) {
+            cells.add(cell);
+        }
+        return cells;
+    }
+
+    private long[] candidateStarts(LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (LocalDate day = from.toLocalDate(); !day.atStartOfDay().isAfter(to); day = day.plusDays(1)) {
+            if (!workingDays.contains(day.getDayOfWeek())) {
+                continue;
+            }
+            LocalDateTime close = day.atTime(dayEnd);
+            for (LocalDateTime slot = day.atTime(dayStart); !slot.plus(slotLength).isAfter(close); slot = slot.plus(slotLength)) {
+                if (!slot.isBefore(from) && !slot.plus(slotLength).isAfter(to)) {
+                    starts.add(slot);
+                }
+            }
+        }
+        return starts.stream().mapToLong(BookingAvailabilityServiceImpl::toSeconds).toArray();
+    }
+
+    // wall clock seconds, slots are booked in local time
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toLocalDateTime(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+}
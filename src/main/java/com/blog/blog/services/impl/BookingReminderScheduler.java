@@ -0,0 +1,221 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.BookingTime;
+import com.blog.blog.domain.entities.Booking;
+import com.blog.blog.domain.entities.ReminderWatermark;
+import com.blog.blog.reminders.BookingReminder;
+import com.blog.blog.reminders.ReminderSink;
+import com.blog.blog.reminders.TimingWheel;
+import com.blog.blog.repositories.BookingRepository;
+import com.blog.blog.repositories.ReminderWatermarkRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// a reminder is due lead before its booking. only the next lookahead of reminders is held, in a timing wheel, and it
+// is topped up from the bookings date_time index a window at a time; bookings made inside the loaded window are
+// handed over by the booking service. due reminders are read back in batches, so cancelled bookings drop out, and
+// after each batch the watermark is saved: a restart picks up after it and never looks at bookings already started.
+// a batch the sink fails on goes back in the wheel for retry-delay and holds the watermark below it until it is sent
+@Slf4j
+@Component
+public class BookingReminderScheduler {
+
+    private static final String WATERMARK = "booking-reminders";
+
+    private final BookingRepository bookingRepository;
+    private final ReminderWatermarkRepository watermarkRepository;
+    private final ReminderSink sink;
+    private final long leadMillis;
+    private final long lookaheadMillis;
+    private final long tickMillis;
+    private final long retryDelayMillis;
+    private final int batchSize;
+    private final Set<UUID> scheduled = new HashSet<>();
+    private final Queue<Due> handedOver = new ConcurrentLinkedQueue<>();
+    private final NavigableMap<Long, Integer> retrying = new TreeMap<>(); // due time -> reminders waiting for a retry
+    private TimingWheel<Due> wheel;
+    private volatile long loadedUntil;
+    private long handledUntil; // every reminder due up to here was sent, dropped or is waiting for a retry
+    private long remindedUntil;
+
+    public BookingReminderScheduler(BookingRepository bookingRepository,
+                                    ReminderWatermarkRepository watermarkRepository,
+                                    ReminderSink sink,
+                                    @Value("${blog.reminders.lead:PT24H}") Duration lead,
+                                    @Value("${blog.reminders.lookahead:PT6H}") Duration lookahead,
+                                    @Value("${blog.reminders.tick:PT1M}") Duration tick,
+                                    @Value("${blog.reminders.retry-delay:PT5M}") Duration retryDelay,
+                                    @Value("${blog.reminders.batch-size:100}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.sink = sink;
+        this.leadMillis = lead.toMillis();
+        this.lookaheadMillis = lookahead.toMillis();
+        this.tickMillis = tick.toMillis();
+        this.retryDelayMillis = retryDelay.toMillis();
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void load() {
+        load(System.currentTimeMillis());
+    }
+
+    // the first start has nothing to catch up on, it reminds from now on
+    synchronized void load(long now) {
+        // three levels of 64 ticks reach 64^3 ticks ahead, far past any sensible lookahead
+        wheel = new TimingWheel<>(tickMillis, 64, 3, now);
+        scheduled.clear();
+        retrying.clear();
+        remindedUntil = watermarkRepository.findById(WATERMARK)
+                .map(watermark -> toMillis(watermark.getRemindedUntil()))
+                .orElseGet(() -> saveWatermark(now));
+        handledUntil = remindedUntil;
+        loadedUntil = remindedUntil;
+        loadAhead(now);
+        log.info("Booking reminders sent up to {}, {} scheduled", toLocalDateTime(remindedUntil), wheel.size());
+    }
+
+    // bookings due beyond the loaded window are picked up when the window gets there, ones made less than lead
+    // ahead are past their reminder already and get none
+    public void schedule(UUID bookingId, LocalDateTime dateTime) {
+        long due = toMillis(dateTime) - leadMillis;
+        if (due <= loadedUntil) {
+            handedOver.add(new Due(bookingId, due));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${blog.reminders.tick:PT1M}", fixedDelayString = "${blog.reminders.tick:PT1M}")
+    public void dispatchDue() {
+        dispatchDue(System.currentTimeMillis());
+    }
+
+    synchronized void dispatchDue(long now) {
+        for (Due due = handedOver.poll(); due != null; due = handedOver.poll()) {
+            add(due);
+        }
+        loadAhead(now);
+        // retried reminders come out of the wheel at their retry time, batches go by the time they were due
+        List<Due> due = new ArrayList<>(wheel.advance(now));
+        due.sort(Comparator.comparingLong(Due::dueMillis));
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Due> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            batch.stream().filter(Due::retry).forEach(retried -> retrying.merge(retried.dueMillis(), -1, this::decrement));
+            boolean sent = dispatch(batch, now);
+            if (sent) {
+                batch.forEach(done -> scheduled.remove(done.bookingId()));
+            } else {
+                for (Due failed : batch) {
+                    retrying.merge(failed.dueMillis(), 1, Integer::sum);
+                    wheel.schedule(new Due(failed.bookingId(), failed.dueMillis(), true), now + retryDelayMillis);
+                }
+            }
+            long lastDue = batch.get(batch.size() - 1).dueMillis();
+            // reminders due at the same moment as the next batch's first are only covered once that batch is handled
+            boolean complete = from + batchSize >= due.size() || due.get(from + batchSize).dueMillis() > lastDue;
+            if (complete) {
+                handledUntil = Math.max(handledUntil, lastDue);
+                advanceWatermark();
+            }
+        }
+    }
+
+    private boolean dispatch(List<Due> batch, long now) {
+        try {
+            Map<UUID, Booking> bookings = bookingRepository.findAllById(batch.stream().map(Due::bookingId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Booking::getId, Function.identity()));
+            LocalDateTime startedBefore = toLocalDateTime(now);
+            List<BookingReminder> reminders = batch.stream()
+                    .map(due -> bookings.get(due.bookingId()))
+                    .filter(booking -> booking != null && booking.getDateTime().isAfter(startedBefore))
+                    .map(booking -> new BookingReminder(booking.getId(), booking.getName(), booking.getEmail(),
+                            booking.getService(), booking.getDateTime(), booking.isConfirmed()))
+                    .toList();
+            if (!reminders.isEmpty()) {
+                sink.send(reminders);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Sending {} booking reminders failed, retrying in {} ms", batch.size(), retryDelayMillis, e);
+            return false;
+        }
+    }
+
+    // never past a reminder that is still waiting for a retry
+    private void advanceWatermark() {
+        long until = retrying.isEmpty() ? handledUntil : Math.min(handledUntil, retrying.firstKey() - 1);
+        if (until > remindedUntil) {
+            remindedUntil = saveWatermark(until);
+        }
+    }
+
+    // keeps at least half a lookahead loaded; reminders that fell due while the app was down are still sent if the
+    // booking has not started yet. the new bound is published before the query, a booking committed meanwhile is
+    // then handed over and the duplicate dropped in add
+    private void loadAhead(long now) {
+        if (loadedUntil - now >= lookaheadMillis / 2) {
+            return;
+        }
+        long until = now + lookaheadMillis;
+        long after = Math.max(loadedUntil + leadMillis, now);
+        loadedUntil = until;
+        List<BookingTime> bookings = bookingRepository.findAllByDateTimeGreaterThanAndDateTimeLessThanEqual(
+                toLocalDateTime(after), toLocalDateTime(until + leadMillis), BookingTime.class);
+        for (BookingTime booking : bookings) {
+            add(new Due(booking.getId(), toMillis(booking.getDateTime()) - leadMillis));
+        }
+    }
+
+    private void add(Due due) {
+        if (due.dueMillis() > handledUntil && scheduled.add(due.bookingId())) {
+            wheel.schedule(due, due.dueMillis());
+        }
+    }
+
+    private Integer decrement(Integer count, Integer minusOne) {
+        int left = count + minusOne;
+        return left == 0 ? null : left;
+    }
+
+    private long saveWatermark(long millis) {
+        watermarkRepository.save(new ReminderWatermark(WATERMARK, toLocalDateTime(millis)));
+        return millis;
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Due(UUID bookingId, long dueMillis, boolean retry) {
+
+        Due(UUID bookingId, long dueMillis) {
+            this(bookingId, dueMillis, false);
+        }
+    }
+}
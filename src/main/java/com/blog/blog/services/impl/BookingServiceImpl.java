@@ -1,16 +1,25 @@
 package com.blog.blog.services.impl;
 
+import com.blog.blog.domain.BookingPage;
+import com.blog.blog.domain.KeysetCursor;
+import com.blog.blog.domain.dtos.BookingDayCountDto;
 import com.blog.blog.domain.dtos.BookingRequestDto;
 import com.blog.blog.domain.dtos.BookingResponseDto;
 import com.blog.blog.domain.entities.Booking;
 import com.blog.blog.mappers.BookingMapper;
 import com.blog.blog.repositories.BookingRepository;
+import com.blog.blog.services.BookingAvailabilityService;
 import com.blog.blog.services.BookingService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -19,23 +28,27 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final Sort CALENDAR_ORDER = Sort.by("dateTime", "id");
+
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
+    private final BookingAvailabilityService bookingAvailabilityService;
+    private final BookingReminderScheduler bookingReminderScheduler;
 
+    // no transaction here, the booking is committed inside book while its slot is locked
     @Override
-    @Transactional
     public BookingResponseDto createBooking(BookingRequestDto bookingRequestDto) {
         Booking booking = bookingMapper.toBooking(bookingRequestDto);
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking = bookingAvailabilityService.book(booking);
+        bookingReminderScheduler.schedule(savedBooking.getId(), savedBooking.getDateTime());
         return bookingMapper.toBookingResponseDto(savedBooking);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BookingResponseDto> getUpcomingBookings() {
-        return bookingRepository.findByDateTimeBetweenOrderByDateTime(
-                        LocalDateTime.now(),
-                        LocalDateTime.now().plusMonths(1))
+        LocalDateTime now = LocalDateTime.now();
+        return bookingRepository.findByDateTimeBetweenOrderByDateTime(now, now.plusMonths(1))
                 .stream()
                 .map(bookingMapper::toBookingResponseDto)
                 .toList();
@@ -50,6 +63,34 @@ public class BookingServiceImpl implements BookingService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BookingPage getBookings(LocalDateTime from, LocalDateTime to, Boolean confirmed, String cursor, int size) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        ScrollPosition position = cursor != null ? KeysetCursor.BOOKINGS.decode(cursor) : ScrollPosition.keyset();
+        Window<Booking> bookings = confirmed == null
+                ? bookingRepository.findAllByDateTimeGreaterThanEqualAndDateTimeLessThan(from, to, position, Limit.of(size), CALENDAR_ORDER)
+                : bookingRepository.findAllByConfirmedAndDateTimeGreaterThanEqualAndDateTimeLessThan(confirmed, from, to, position, Limit.of(size), CALENDAR_ORDER);
+        String nextCursor = null;
+        if (bookings.hasNext()) {
+            Booking last = bookings.getContent().get(bookings.size() - 1);
+            nextCursor = KeysetCursor.BOOKINGS.encode(last.getDateTime(), last.getId());
+        }
+        return new BookingPage(bookings.stream().map(bookingMapper::toBookingResponseDto).toList(), nextCursor);
+    }
+
+    // days with no bookings are left out
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDayCountDto> countBookingsByDay(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        return bookingRepository.countByDay(from.atStartOfDay(), to.atStartOfDay());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<BookingResponseDto> getBookingsByEmail(String email) {
@@ -69,9 +110,10 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.toBookingResponseDto(updatedBooking);
     }
 
+    // the slot is freed once the delete has committed
     @Override
-    @Transactional
     public void cancelBooking(UUID id) {
         bookingRepository.deleteById(id);
+        bookingAvailabilityService.release(id);
     }
 }
\ No newline at end of file
@@ -1,15 +1,20 @@
 package com.blog.blog.services.impl;
 
+import com.blog.blog.domain.PostStatus;
 import com.blog.blog.domain.entities.Category;
+import com.blog.blog.domain.events.CategoryCreatedEvent;
+import com.blog.blog.domain.events.CategoryDeletedEvent;
 import com.blog.blog.repositories.CategoryRepository;
+import com.blog.blog.repositories.PostRepository;
 import com.blog.blog.services.CategoryService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -17,10 +22,12 @@ import java.util.UUID;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<Category> listCategories() {
-        return categoryRepository.findAllWithPostCounts(); // returns list of categories
+        return categoryRepository.findAll(); // post counts are stored on the row, no join needed
     }
 
     @Override
@@ -29,24 +36,52 @@ public class CategoryServiceImpl implements CategoryService {
         if(categoryRepository.existsByNameIgnoreCase(category.getName())){
             throw new IllegalArgumentException("Category with name " + category.getName() + " already exists");
         }
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryCreatedEvent(savedCategory.getId()));
+        return savedCategory;
     }
 
     @Override
+    @Transactional
     public void deleteCategory(UUID id) {
-       Optional<Category> category =  categoryRepository.findById(id);
-       if(category.isPresent()){
-           if(category.get().getPosts().size()>0){
+       if(categoryRepository.existsById(id)){
+           if(postRepository.existsByCategoryId(id)){ // drafts count too, so the published counter is not enough
                throw new IllegalStateException("Category with id " + id + " has posts");
            }
            categoryRepository.deleteById(id);
+           eventPublisher.publishEvent(new CategoryDeletedEvent(id));
        }
     }
 
     @Override
     public Category getCategoryById(UUID id) {
-       categoryRepository.findById(id)
+       return categoryRepository.findById(id)
                .orElseThrow(() -> new EntityNotFoundException("Category with id " + id + " does not exist"));
-       return categoryRepository.findById(id).get();
+    }
+
+    @Override
+    public List<Category> getCategoriesByIds(Set<UUID> ids) {
+        List<Category> foundCategories = categoryRepository.findAllById(ids);
+        if (foundCategories.size() != ids.size()) {
+            throw new EntityNotFoundException("Categories with ids " + ids + " not found");
+        }
+        return foundCategories;
+    }
+
+    @Override
+    public List<Category> getCategoriesByNames(Set<String> names) {
+        return categoryRepository.findByNameIn(names); // missing names are left for the caller to report
+    }
+
+    @Override
+    @Transactional
+    public void addToPostCount(UUID id, long delta) {
+        categoryRepository.addToPostCount(id, delta);
+    }
+
+    @Override
+    @Transactional
+    public int reconcilePostCounts() {
+        return categoryRepository.reconcilePostCounts(PostStatus.PUBLISHED);
     }
 }
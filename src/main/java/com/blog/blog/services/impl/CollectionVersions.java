@@ -0,0 +1,92 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.events.CategoryCreatedEvent;
+import com.blog.blog.domain.events.CategoryDeletedEvent;
+import com.blog.blog.domain.events.PostChangedEvent;
+import com.blog.blog.domain.events.PostsImportedEvent;
+import com.blog.blog.domain.events.TagDeletedEvent;
+import com.blog.blog.domain.events.TagsCreatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+// a version per public collection, bumped after every committed write that can change what its list endpoints return.
+// validators built from it are only compared, never loaded, so a conditional GET costs no query at all.
+// the boot epoch keeps a restarted instance from reusing the tags of the previous one.
+@Component
+public class CollectionVersions {
+
+    public enum Collection { POSTS, CATEGORIES, TAGS }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Collection, AtomicReference<Version>> versions = new EnumMap<>(Collection.class);
+
+    public CollectionVersions() {
+        long now = System.currentTimeMillis();
+        for (Collection collection : Collection.values()) {
+            versions.put(collection, new AtomicReference<>(new Version(0, now)));
+        }
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public Version current(Collection collection) {
+        return versions.get(collection).get();
+    }
+
+    // the variant tells apart bodies of one collection that differ by request, e.g. the resolved page size
+    public String etag(Collection collection, Version version, Object variant) {
+        return "\"" + collection.name().toLowerCase() + "-" + epoch + "-" + version.number() + "-" + variant + "\"";
+    }
+
+    public void bump(Collection... collections) {
+        long now = System.currentTimeMillis();
+        for (Collection collection : collections) {
+            // last modified never moves backwards, so If-Modified-Since stays consistent with the version
+            versions.get(collection).updateAndGet(version -> new Version(version.number() + 1, Math.max(now, version.lastModified())));
+        }
+    }
+
+    // published posts show up in post lists and in the counts on categories and tags
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getBefore().isPublished() || event.getAfter().isPublished()) {
+            bump(Collection.POSTS, Collection.CATEGORIES, Collection.TAGS);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsImported(PostsImportedEvent event) {
+        if (!event.getPublishedPostIds().isEmpty()) {
+            bump(Collection.POSTS, Collection.CATEGORIES, Collection.TAGS);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryCreated(CategoryCreatedEvent event) {
+        bump(Collection.CATEGORIES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        bump(Collection.CATEGORIES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagsCreated(TagsCreatedEvent event) {
+        bump(Collection.TAGS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagDeleted(TagDeletedEvent event) {
+        bump(Collection.TAGS);
+    }
+
+    public record Version(long number, long lastModified) {
+    }
+}
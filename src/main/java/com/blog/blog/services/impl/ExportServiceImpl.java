@@ -0,0 +1,125 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.ExportFormat;
+import com.blog.blog.domain.PostExportRow;
+import com.blog.blog.domain.PostTagName;
+import com.blog.blog.domain.dtos.BookingResponseDto;
+import com.blog.blog.domain.dtos.ContactResponseDto;
+import com.blog.blog.domain.dtos.PostExportDto;
+import com.blog.blog.export.Column;
+import com.blog.blog.export.RowWriter;
+import com.blog.blog.mappers.PostMapper;
+import com.blog.blog.repositories.BookingRepository;
+import com.blog.blog.repositories.ContactRepository;
+import com.blog.blog.repositories.PostRepository;
+import com.blog.blog.services.ExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+// streams whole tables to the client row by row inside one read-only transaction (the jdbc cursor needs it open),
+// so heap use depends on the chunk size and never on the table size
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+    private static final int TAG_CHUNK_SIZE = 500;
+
+    private static final List<Column<PostExportDto>> POST_COLUMNS = List.of(
+            new Column<>("id", PostExportDto::getId),
+            new Column<>("title", PostExportDto::getTitle),
+            new Column<>("status", PostExportDto::getStatus),
+            new Column<>("category", PostExportDto::getCategoryName),
+            new Column<>("tags", PostExportDto::getTagNames),
+            new Column<>("author", PostExportDto::getAuthorName),
+            new Column<>("readingTime", PostExportDto::getReadingTime),
+            new Column<>("createdAt", PostExportDto::getCreatedAt),
+            new Column<>("updatedAt", PostExportDto::getUpdatedAt),
+            new Column<>("content", PostExportDto::getContent));
+
+    private static final List<Column<BookingResponseDto>> BOOKING_COLUMNS = List.of(
+            new Column<>("id", BookingResponseDto::getId),
+            new Column<>("dateTime", BookingResponseDto::getDateTime),
+            new Column<>("service", BookingResponseDto::getService),
+            new Column<>("confirmed", BookingResponseDto::isConfirmed),
+            new Column<>("name", BookingResponseDto::getName),
+            new Column<>("email", BookingResponseDto::getEmail),
+            new Column<>("phone", BookingResponseDto::getPhone),
+            new Column<>("message", BookingResponseDto::getMessage),
+            new Column<>("createdAt", BookingResponseDto::getCreatedAt));
+
+    private static final List<Column<ContactResponseDto>> CONTACT_COLUMNS = List.of(
+            new Column<>("id", ContactResponseDto::getId),
+            new Column<>("createdAt", ContactResponseDto::getCreatedAt),
+            new Column<>("name", ContactResponseDto::getName),
+            new Column<>("email", ContactResponseDto::getEmail),
+            new Column<>("read", ContactResponseDto::isRead),
+            new Column<>("message", ContactResponseDto::getMessage));
+
+    private final PostRepository postRepository;
+    private final BookingRepository bookingRepository;
+    private final ContactRepository contactRepository;
+    private final PostMapper postMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPosts(ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter<PostExportDto> writer = RowWriter.of(format, out, objectMapper, POST_COLUMNS);
+             Stream<PostExportRow> rows = postRepository.streamAllByOrderByCreatedAtAscIdAsc()) {
+            // tag names are looked up per chunk of posts, one query each, instead of per post
+            List<PostExportRow> chunk = new ArrayList<>(TAG_CHUNK_SIZE);
+            Iterator<PostExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == TAG_CHUNK_SIZE || !iterator.hasNext()) {
+                    writePosts(chunk, writer);
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBookings(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter<BookingResponseDto> writer = RowWriter.of(format, out, objectMapper, BOOKING_COLUMNS);
+             Stream<BookingResponseDto> rows = bookingRepository.streamByDateTimeBetween(from, to)) {
+            writeAll(rows, writer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportContactMessages(ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter<ContactResponseDto> writer = RowWriter.of(format, out, objectMapper, CONTACT_COLUMNS);
+             Stream<ContactResponseDto> rows = contactRepository.streamAllNewestFirst()) {
+            writeAll(rows, writer);
+        }
+    }
+
+    private void writePosts(List<PostExportRow> chunk, RowWriter<PostExportDto> writer) throws IOException {
+        List<UUID> postIds = chunk.stream().map(PostExportRow::getId).toList();
+        Map<UUID, Set<String>> tagNames = new HashMap<>();
+        for (PostTagName row : postRepository.findTagNamesByPostIds(postIds)) {
+            tagNames.computeIfAbsent(row.getPostId(), id -> new TreeSet<>()).add(row.getTagName());
+        }
+        for (PostExportRow row : chunk) {
+            writer.write(postMapper.toExportDto(row, tagNames.getOrDefault(row.getId(), Set.of())));
+        }
+    }
+
+    private <T> void writeAll(Stream<T> rows, RowWriter<T> writer) throws IOException {
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writer.write(iterator.next());
+        }
+    }
+}
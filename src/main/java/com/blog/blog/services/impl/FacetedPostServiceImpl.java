@@ -0,0 +1,151 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.KeysetCursor;
+import com.blog.blog.domain.PostFacets;
+import com.blog.blog.domain.PostStatus;
+import com.blog.blog.domain.PostTagId;
+import com.blog.blog.domain.TagMatch;
+import com.blog.blog.domain.dtos.FacetCountDto;
+import com.blog.blog.domain.dtos.FacetedPostsDto;
+import com.blog.blog.domain.dtos.PostSummaryDto;
+import com.blog.blog.domain.events.PostChangedEvent;
+import com.blog.blog.domain.events.PostsImportedEvent;
+import com.blog.blog.facets.FacetIndex;
+import com.blog.blog.repositories.PostRepository;
+import com.blog.blog.services.FacetedPostService;
+import com.blog.blog.services.PostService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// multi-valued filtering and facet counts over published posts from the in-memory bitmap index;
+// the database is only hit for the summaries of the page
+@Slf4j
+@Service
+public class FacetedPostServiceImpl implements FacetedPostService {
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final PublishedPostScanner scanner;
+    private final int batchSize;
+    // index writes run one at a time, in the order the posts committed
+    private final IndexWorker indexer;
+    private volatile FacetIndex index = new FacetIndex();
+
+    public FacetedPostServiceImpl(PostRepository postRepository,
+                                  PostService postService,
+                                  PublishedPostScanner scanner,
+                                  @Value("${blog.facets.batch-size:500}") int batchSize,
+                                  @Value("${blog.indexing.retry-delay:PT1M}") Duration retryDelay) {
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.scanner = scanner;
+        this.batchSize = batchSize;
+        this.indexer = new IndexWorker("post-facets-indexer", this::rebuild, retryDelay);
+    }
+
+    @Override
+    public FacetedPostsDto filterPosts(List<UUID> tagIds, TagMatch tagMatch, List<UUID> categoryIds, List<UUID> authorIds, String cursor, int size) {
+        FacetIndex.Key after = null;
+        if (cursor != null) {
+            KeysetScrollPosition position = KeysetCursor.POSTS.decode(cursor);
+            after = new FacetIndex.Key((LocalDateTime) position.getKeys().get("createdAt"), (UUID) position.getKeys().get("id"));
+        }
+        FacetIndex.Result result = index.query(new FacetIndex.Filter(tagIds, tagMatch, categoryIds, authorIds), after, size);
+
+        List<PostSummaryDto> posts = postService.getPublishedSummaries(result.posts().stream().map(FacetIndex.Key::id).toList());
+        String nextCursor = null;
+        if (result.hasNext()) {
+            FacetIndex.Key last = result.posts().get(result.posts().size() - 1);
+            nextCursor = KeysetCursor.POSTS.encode(last.createdAt(), last.id());
+        }
+        return FacetedPostsDto.builder()
+                .posts(posts)
+                .nextCursor(nextCursor)
+                .total(result.total())
+                .tags(toDtos(result.tagCounts()))
+                .categories(toDtos(result.categoryCounts()))
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        indexer.rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (!event.getBefore().isPublished() && !event.getAfter().isPublished()) {
+            return;
+        }
+        indexer.submit(() -> index(List.of(event.getPostId())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsImported(PostsImportedEvent event) {
+        if (!event.getPublishedPostIds().isEmpty()) {
+            indexer.submit(() -> index(event.getPublishedPostIds()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdown();
+    }
+
+    // the fresh index is only swapped in once complete, a rebuild that fails keeps the previous one serving
+    private void rebuild() {
+        long start = System.nanoTime();
+        FacetIndex fresh = new FacetIndex();
+        scanner.scan(PostFacets.class, batchSize, posts -> put(fresh, posts));
+        index = fresh;
+        log.info("Indexed {} posts for facets in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // re-reads the posts, so whatever is published now wins over the order events were queued in
+    private void index(List<UUID> postIds) {
+        List<PostFacets> published = postRepository.findAllByIdInAndStatus(postIds, PostStatus.PUBLISHED, PostFacets.class);
+        FacetIndex current = index;
+        put(current, published);
+        Set<UUID> publishedIds = published.stream().map(PostFacets::getId).collect(Collectors.toSet());
+        postIds.stream().filter(id -> !publishedIds.contains(id)).forEach(current::remove);
+        // one rebuild behind whatever is queued already, a long import does not rebuild per batch
+        if (current.needsRebuild()) {
+            indexer.rebuild();
+        }
+    }
+
+    private void put(FacetIndex index, List<PostFacets> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<UUID>> tagIds = new HashMap<>();
+        for (PostTagId postTag : postRepository.findTagIdsByPostIds(posts.stream().map(PostFacets::getId).toList())) {
+            tagIds.computeIfAbsent(postTag.getPostId(), id -> new ArrayList<>()).add(postTag.getTagId());
+        }
+        for (PostFacets post : posts) {
+            index.put(post.getId(), post.getCategoryId(), post.getAuthorId(), tagIds.getOrDefault(post.getId(), List.of()), post.getCreatedAt());
+        }
+    }
+
+    private static List<FacetCountDto> toDtos(Map<UUID, Integer> counts) {
+        return counts.entrySet().stream()
+                .map(entry -> new FacetCountDto(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
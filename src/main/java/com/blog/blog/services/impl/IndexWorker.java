@@ -0,0 +1,66 @@
+package com.blog.blog.services.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// the one thread an in-memory index is written from: tasks run one at a time, in the order they were submitted.
+// a task that throws is logged and answered with a rebuild after retryDelay, since the index may now be missing
+// that change; a rebuild that throws is retried the same way, so a failure never leaves an index empty or stale unseen
+@Slf4j
+public class IndexWorker {
+
+    private final String name;
+    private final Runnable rebuild;
+    private final long retryDelayMillis;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public IndexWorker(String name, Runnable rebuild, Duration retryDelay) {
+        this.name = name;
+        this.rebuild = rebuild;
+        this.retryDelayMillis = retryDelay.toMillis();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, name));
+    }
+
+    public void submit(Runnable task) {
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("{} failed to apply a change, rebuilding in {} ms", name, retryDelayMillis, e);
+                scheduleRebuild(retryDelayMillis);
+            }
+        });
+    }
+
+    // a rebuild already waiting covers this one too, so a burst of requests rebuilds once
+    public void rebuild() {
+        scheduleRebuild(0);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void scheduleRebuild(long delayMillis) {
+        if (!rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        executor.schedule(this::runRebuild, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void runRebuild() {
+        rebuildPending.set(false);
+        try {
+            rebuild.run();
+        } catch (RuntimeException e) {
+            log.error("{} failed to rebuild, retrying in {} ms", name, retryDelayMillis, e);
+            scheduleRebuild(retryDelayMillis);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.dtos.LoginThrottleStatsDto;
+import com.blog.blog.security.TooManyLoginAttemptsException;
+import com.blog.blog.throttle.RateLimiter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// login attempts are rate limited per client ip and per email before any password is hashed, and the hashing itself
+// runs on a small fixed pool, so a credential stuffing burst can take at most cpu-share of the cores from the blog
+@Component
+public class LoginThrottle {
+
+    private static final long BUSY_RETRY_AFTER_SECONDS = 1;
+
+    private final RateLimiter byIp;
+    private final RateLimiter byEmail;
+    private final ThreadPoolExecutor hashing;
+    private final long waitTimeoutNanos;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+    private final LongAdder rejectedBusy = new LongAdder();
+
+    public LoginThrottle(@Value("${blog.login.ip.capacity:20}") int ipCapacity,
+                         @Value("${blog.login.ip.refill-interval:PT3S}") Duration ipRefillInterval,
+                         @Value("${blog.login.email.capacity:5}") int emailCapacity,
+                         @Value("${blog.login.email.refill-interval:PT30S}") Duration emailRefillInterval,
+                         @Value("${blog.login.max-tracked-keys:100000}") long maxTrackedKeys,
+                         @Value("${blog.login.cpu-share:0.5}") double cpuShare,
+                         @Value("${blog.login.queue-capacity:64}") int queueCapacity,
+                         @Value("${blog.login.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.byIp = new RateLimiter(ipCapacity, ipRefillInterval, maxTrackedKeys);
+        this.byEmail = new RateLimiter(emailCapacity, emailRefillInterval, maxTrackedKeys);
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        int threads = Math.max(1, (int) (Runtime.getRuntime().availableProcessors() * cpuShare));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashing = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // runs the login on the hashing pool once both limits allow it, failures of the login itself are rethrown as they are
+    public <T> T attempt(String clientIp, String email, Supplier<T> login) {
+        long now = System.nanoTime();
+        long wait = byIp.tryAcquire(clientIp, now);
+        if (wait > 0) {
+            rejectedByIp.increment();
+            throw tooMany(wait);
+        }
+        wait = byEmail.tryAcquire(email == null ? "" : email.trim().toLowerCase(Locale.ROOT), now);
+        if (wait > 0) {
+            rejectedByEmail.increment();
+            throw tooMany(wait);
+        }
+
+        Future<T> result;
+        try {
+            result = hashing.submit(login::get);
+        } catch (RejectedExecutionException e) {
+            rejectedBusy.increment();
+            throw new TooManyLoginAttemptsException("Too many logins in progress, try again shortly", BUSY_RETRY_AFTER_SECONDS);
+        }
+        accepted.increment();
+        try {
+            return result.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Login failed", e.getCause());
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new TooManyLoginAttemptsException("Too many logins in progress, try again shortly", BUSY_RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while logging in", e);
+        }
+    }
+
+    public LoginThrottleStatsDto stats() {
+        return LoginThrottleStatsDto.builder()
+                .accepted(accepted.sum())
+                .rejectedByIp(rejectedByIp.sum())
+                .rejectedByEmail(rejectedByEmail.sum())
+                .rejectedBusy(rejectedBusy.sum())
+                .trackedIps(byIp.size())
+                .trackedEmails(byEmail.size())
+                .hashingThreads(hashing.getMaximumPoolSize())
+                .activeHashes(hashing.getActiveCount())
+                .queuedHashes(hashing.getQueue().size())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashing.shutdownNow();
+    }
+
+    private static TooManyLoginAttemptsException tooMany(long waitNanos) {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new TooManyLoginAttemptsException("Too many login attempts, try again later", seconds);
+    }
+}
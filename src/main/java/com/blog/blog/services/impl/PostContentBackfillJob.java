@@ -0,0 +1,65 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.services.PostService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// sanitizes posts saved before that happened on write and fills their word count, reading time, excerpt and toc,
+// one transaction per batch. runs off the startup thread, so a failure is logged and retried instead of stopping
+// the app; batches already committed are not redone
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostContentBackfillJob {
+
+    private final PostService postService;
+    private final PostListingCache postListingCache;
+    private final CollectionVersions collectionVersions;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "post-content-backfill"));
+
+    @Value("${blog.content-backfill.batch-size:100}")
+    private int batchSize;
+
+    @Value("${blog.content-backfill.retry-delay:PT1M}")
+    private Duration retryDelay;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        executor.execute(this::backfill);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void backfill() {
+        int total = 0;
+        try {
+            int analyzed;
+            do {
+                analyzed = postService.migrateLegacyPosts(batchSize);
+                total += analyzed;
+            } while (analyzed == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Migrating post content failed after {} posts, retrying in {} ms", total, retryDelay.toMillis(), e);
+            executor.schedule(this::backfill, retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            if (total > 0) {
+                postListingCache.invalidateAll(); // cached summaries still carry the old reading times and excerpts
+                collectionVersions.bump(CollectionVersions.Collection.POSTS);
+                log.info("Migrated content of {} existing posts", total);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.services.CategoryService;
+import com.blog.blog.services.TagService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// recounts published posts per category and tag and fixes any counter that drifted,
+// e.g. after manual sql or posts removed together with their author
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostCounterReconciliationJob {
+
+    private final CategoryService categoryService;
+    private final TagService tagService;
+    private final CollectionVersions collectionVersions;
+
+    @Scheduled(initialDelayString = "${blog.post-counts.reconcile-initial-delay:PT30S}",
+            fixedDelayString = "${blog.post-counts.reconcile-interval:PT1H}")
+    public void reconcile() {
+        int categories = categoryService.reconcilePostCounts();
+        int tags = tagService.reconcilePostCounts();
+        if (categories > 0) {
+            collectionVersions.bump(CollectionVersions.Collection.CATEGORIES);
+        }
+        if (tags > 0) {
+            collectionVersions.bump(CollectionVersions.Collection.TAGS);
+        }
+        if (categories > 0 || tags > 0) {
+            log.info("Repaired post counts on {} categories and {} tags", categories, tags);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.CreatePostRequest;
+import com.blog.blog.domain.dtos.ImportProgressDto;
+import com.blog.blog.domain.dtos.PostImportDto;
+import com.blog.blog.domain.entities.Category;
+import com.blog.blog.domain.entities.Tag;
+import com.blog.blog.domain.entities.User;
+import com.blog.blog.services.CategoryService;
+import com.blog.blog.services.PostImportService;
+import com.blog.blog.services.PostService;
+import com.blog.blog.services.TagService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// reads an ndjson stream of posts line by line and saves it in batches; only one batch is ever held in memory.
+// a bad line is reported and skipped, a batch that fails to save is reported and the import goes on with the next one.
+// nothing thrown while saving a batch may escape, the caller is already streaming progress to the client
+@Slf4j
+@Service
+public class PostImportServiceImpl implements PostImportService {
+
+    private static final int MAX_ERRORS_PER_BATCH = 20;
+
+    private final PostService postService;
+    private final CategoryService categoryService;
+    private final TagService tagService;
+    private final ObjectReader lineReader;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PostImportServiceImpl(PostService postService,
+                                 CategoryService categoryService,
+                                 TagService tagService,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${blog.import.batch-size:500}") int batchSize) {
+        this.postService = postService;
+        this.categoryService = categoryService;
+        this.tagService = tagService;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.lineReader = objectMapper.readerFor(PostImportDto.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ImportProgressDto importPosts(User author, InputStream ndjson, Consumer<ImportProgressDto> progress) throws IOException {
+        Progress counts = new Progress(System.nanoTime());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        List<Line> batch = new ArrayList<>(batchSize);
+        List<String> errors = new ArrayList<>();
+        String text;
+        while ((text = reader.readLine()) != null) {
+            counts.lines++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(new Line(counts.lines, lineReader.readValue(text)));
+            } catch (JsonProcessingException e) {
+                counts.failed++;
+                addError(errors, "line " + counts.lines + ": not a valid post (" + e.getOriginalMessage() + ")");
+            }
+            if (batch.size() == batchSize) {
+                saveBatch(author, batch, errors, counts);
+                progress.accept(counts.report(false, errors));
+                batch.clear();
+                errors = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty() || !errors.isEmpty()) {
+            saveBatch(author, batch, errors, counts);
+        }
+        ImportProgressDto summary = counts.report(true, errors);
+        log.info("Imported {} posts ({} failed) at {} posts/s", summary.getImported(), summary.getFailed(), Math.round(summary.getPostsPerSecond()));
+        return summary;
+    }
+
+    private void saveBatch(User author, List<Line> batch, List<String> errors, Progress counts) {
+        List<Line> valid = new ArrayList<>(batch.size());
+        for (Line line : batch) {
+            String problem = validate(line.post());
+            if (problem != null) {
+                counts.failed++;
+                addError(errors, "line " + line.number() + ": " + problem);
+            } else {
+                valid.add(line);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        List<String> rejections = new ArrayList<>();
+        try {
+            // one transaction per batch: tags created for a batch that fails are rolled back with its posts
+            int imported = transactionTemplate.execute(status -> importValid(author, valid, rejections));
+            counts.imported += imported;
+            counts.failed += rejections.size();
+            rejections.forEach(rejection -> addError(errors, rejection));
+        } catch (RuntimeException e) {
+            // none of the batch's lines made it
+            String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Import batch of lines {}-{} not saved: {}", batch.get(0).number(), batch.get(batch.size() - 1).number(), reason);
+            counts.failed += valid.size();
+            rejections.forEach(rejection -> addError(errors, rejection));
+            addError(errors, "lines " + batch.get(0).number() + "-" + batch.get(batch.size() - 1).number() + ": batch not saved (" + reason + ")");
+        }
+    }
+
+    // categories and tags are resolved once for the whole batch, missing tags are created on the way
+    private int importValid(User author, List<Line> valid, List<String> rejections) {
+        Set<String> categoryNames = valid.stream().map(line -> line.post().getCategoryName()).collect(Collectors.toSet());
+        Set<String> tagNames = valid.stream().flatMap(line -> tagNames(line.post()).stream()).collect(Collectors.toSet());
+        Map<String, Category> categories = categoryService.getCategoriesByNames(categoryNames).stream()
+                .collect(Collectors.toMap(Category::getName, Function.identity()));
+        Map<String, Tag> tags = tagNames.isEmpty() ? Map.of() : tagService.createTags(tagNames).stream()
+                .collect(Collectors.toMap(Tag::getName, Function.identity()));
+
+        List<CreatePostRequest> requests = new ArrayList<>(valid.size());
+        for (Line line : valid) {
+            PostImportDto post = line.post();
+            Category category = categories.get(post.getCategoryName());
+            if (category == null) {
+                rejections.add("line " + line.number() + ": category " + post.getCategoryName() + " does not exist");
+                continue;
+            }
+            requests.add(CreatePostRequest.builder()
+                    .title(post.getTitle().trim())
+                    .content(post.getContent())
+                    .status(post.getStatus())
+                    .categoryId(category.getId())
+                    .tagIds(tagNames(post).stream().map(name -> tags.get(name).getId()).collect(Collectors.toSet()))
+                    .createdAt(post.getCreatedAt())
+                    .build());
+        }
+        return requests.isEmpty() ? 0 : postService.importPosts(author, requests).size();
+    }
+
+    private String validate(PostImportDto post) {
+        Set<ConstraintViolation<PostImportDto>> violations = validator.validate(post);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    private Set<String> tagNames(PostImportDto post) {
+        if (post.getTagNames() == null) {
+            return Set.of();
+        }
+        return post.getTagNames().stream().filter(Objects::nonNull).map(String::trim).filter(name -> !name.isEmpty()).collect(Collectors.toSet());
+    }
+
+    private void addError(List<String> errors, String error) {
+        if (errors.size() < MAX_ERRORS_PER_BATCH) {
+            errors.add(error);
+        }
+    }
+
+    private record Line(long number, PostImportDto post) {
+    }
+
+    private static class Progress {
+        private final long start;
+        private long lines;
+        private long imported;
+        private long failed;
+
+        Progress(long start) {
+            this.start = start;
+        }
+
+        ImportProgressDto report(boolean finished, List<String> errors) {
+            double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+            return ImportProgressDto.builder()
+                    .lines(lines)
+                    .imported(imported)
+                    .failed(failed)
+                    .postsPerSecond(imported / seconds)
+                    .finished(finished)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.PostListing;
+import com.blog.blog.domain.PostSnapshot;
+import com.blog.blog.domain.dtos.CacheStatsDto;
+import com.blog.blog.domain.events.CategoryDeletedEvent;
+import com.blog.blog.domain.events.PostChangedEvent;
+import com.blog.blog.domain.events.PostsImportedEvent;
+import com.blog.blog.domain.events.TagDeletedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// mapped pages of published posts, keyed by filter, position and the POSTS version read before loading. a load still
+// running when a write commits is cached under the version it started from, which no request reads once the version
+// is bumped, so a page of pre-commit rows is never served under the newer etag. writes evict only the pages they can
+// show up in; that frees them early, caffeine skips entries still being computed and those age out with the ttl
+@Component
+public class PostListingCache {
+
+    private final Cache<Key, PostListing<?>> cache;
+
+    public PostListingCache(@Value("${blog.post-cache.maximum-size:1000}") long maximumSize,
+                            @Value("${blog.post-cache.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> PostListing<T> get(Key key, Supplier<PostListing<T>> loader) {
+        return (PostListing<T>) cache.get(key, k -> loader.get()); // concurrent misses on one key load once
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        Set<UUID> categoryIds = new HashSet<>();
+        Set<UUID> tagIds = new HashSet<>();
+        collect(event.getBefore(), categoryIds, tagIds);
+        collect(event.getAfter(), categoryIds, tagIds);
+        if (categoryIds.isEmpty()) {
+            return; // draft edits never show up in published listings
+        }
+        // an unfiltered or single-filter page is affected as long as the filters it does have match the post
+        cache.asMap().keySet().removeIf(key ->
+                (key.categoryId() == null || categoryIds.contains(key.categoryId()))
+                        && (key.tagId() == null || tagIds.contains(key.tagId())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsImported(PostsImportedEvent event) {
+        if (!event.getPublishedPostIds().isEmpty()) {
+            cache.invalidateAll(); // a batch touches most listings anyway
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        cache.asMap().keySet().removeIf(key -> event.getCategoryId().equals(key.categoryId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagDeleted(TagDeletedEvent event) {
+        cache.asMap().keySet().removeIf(key -> event.getTagId().equals(key.tagId()));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .name("postListings")
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    private void collect(PostSnapshot snapshot, Set<UUID> categoryIds, Set<UUID> tagIds) {
+        if (snapshot.isPublished()) {
+            categoryIds.add(snapshot.getCategoryId());
+            tagIds.addAll(snapshot.getTagIds());
+        }
+    }
+
+    // view tells full and summary pages apart, position is the cursor or the page number
+    public record Key(String view, UUID categoryId, UUID tagId, String position, int size, long version) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.PostStatus;
+import com.blog.blog.domain.PostText;
+import com.blog.blog.domain.dtos.PostSummaryDto;
+import com.blog.blog.domain.events.PostChangedEvent;
+import com.blog.blog.domain.events.PostsImportedEvent;
+import com.blog.blog.repositories.PostRepository;
+import com.blog.blog.search.AnalyzedText;
+import com.blog.blog.search.InvertedIndex;
+import com.blog.blog.search.TextAnalyzer;
+import com.blog.blog.services.PostSearchService;
+import com.blog.blog.services.PostService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+// full text search over published posts from an in-memory BM25 index; the database is only hit for the final summaries
+@Slf4j
+@Service
+public class PostSearchServiceImpl implements PostSearchService {
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final PublishedPostScanner scanner;
+    private final int batchSize;
+    // rebuilds and incremental updates run one at a time, in the order the writes committed
+    private final IndexWorker indexer;
+    private volatile InvertedIndex index = new InvertedIndex();
+
+    public PostSearchServiceImpl(PostRepository postRepository,
+                                 PostService postService,
+                                 PublishedPostScanner scanner,
+                                 @Value("${blog.search.batch-size:500}") int batchSize,
+                                 @Value("${blog.indexing.retry-delay:PT1M}") Duration retryDelay) {
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.scanner = scanner;
+        this.batchSize = batchSize;
+        this.indexer = new IndexWorker("post-search-indexer", this::rebuild, retryDelay);
+    }
+
+    @Override
+    public List<PostSummaryDto> search(String query, int limit) {
+        List<String> terms = TextAnalyzer.tokenize(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+        List<UUID> ids = index.search(terms, limit).stream().map(InvertedIndex.SearchHit::id).toList();
+        return postService.getPublishedSummaries(ids);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        indexer.rebuild(); // off the startup thread, searches see an empty index until it is swapped in
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (!event.getBefore().isPublished() && !event.getAfter().isPublished()) {
+            return;
+        }
+        indexer.submit(() -> reindex(event.getPostId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsImported(PostsImportedEvent event) {
+        if (!event.getPublishedPostIds().isEmpty()) {
+            indexer.submit(() -> index(event.getPublishedPostIds()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdown();
+    }
+
+    // reads published posts in keyset batches and analyzes each batch on the fork/join pool;
+    // the fresh index is only swapped in once complete, a rebuild that fails keeps the previous one serving
+    private void rebuild() {
+        long start = System.nanoTime();
+        InvertedIndex fresh = new InvertedIndex();
+        scanner.scan(PostText.class, batchSize, posts -> put(fresh, posts));
+        index = fresh;
+        log.info("Indexed {} posts for search in {} ms", fresh.liveCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // freshly imported posts: one query for the batch, analyzed in parallel like a rebuild
+    private void index(List<UUID> postIds) {
+        put(index, postRepository.findAllByIdInAndStatus(postIds, PostStatus.PUBLISHED, PostText.class));
+    }
+
+    private void reindex(UUID postId) {
+        InvertedIndex current = index;
+        postRepository.findByIdAndStatus(postId, PostStatus.PUBLISHED, PostText.class).ifPresentOrElse(
+                post -> current.put(postId, TextAnalyzer.analyze(post.getTitle(), post.getContent())),
+                () -> current.remove(postId));
+        // every update retires an ordinal, start over once they outnumber the live posts
+        if (current.retiredCount() > Math.max(batchSize, current.liveCount())) {
+            indexer.rebuild();
+        }
+    }
+
+    private static void put(InvertedIndex index, List<PostText> posts) {
+        List<AnalyzedText> analyzed = posts.parallelStream()
+                .map(post -> TextAnalyzer.analyze(post.getTitle(), post.getContent()))
+                .toList();
+        for (int i = 0; i < posts.size(); i++) {
+            index.put(posts.get(i).getId(), analyzed.get(i));
+        }
+    }
+}
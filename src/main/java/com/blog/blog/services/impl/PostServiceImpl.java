@@ -1,21 +1,40 @@
 package com.blog.blog.services.impl;
 
+import com.blog.blog.content.ContentAnalysis;
+import com.blog.blog.content.ContentHash;
+import com.blog.blog.content.ContentAnalyzer;
+import com.blog.blog.content.HtmlSanitizer;
 import com.blog.blog.domain.CreatePostRequest;
+import com.blog.blog.domain.PostSnapshot;
 import com.blog.blog.domain.PostStatus;
+import com.blog.blog.domain.PostSummary;
+import com.blog.blog.domain.PostTagName;
+import com.blog.blog.domain.PostText;
 import com.blog.blog.domain.UpdatePostRequest;
+import com.blog.blog.domain.dtos.PostSummaryDto;
+import com.blog.blog.domain.dtos.PostViewsDto;
+import com.blog.blog.domain.events.PostChangedEvent;
+import com.blog.blog.domain.events.PostsImportedEvent;
 import com.blog.blog.domain.entities.Category;
 import com.blog.blog.domain.entities.Post;
 import com.blog.blog.domain.entities.Tag;
 import com.blog.blog.domain.entities.User;
+import com.blog.blog.mappers.PostMapper;
 import com.blog.blog.repositories.PostRepository;
 import com.blog.blog.services.CategoryService;
 import com.blog.blog.services.PostService;
 import com.blog.blog.services.TagService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,23 +45,77 @@ public class PostServiceImpl implements PostService {
     private final PostRepository postRepository; //injected via rewuired args constructor
     private final CategoryService categoryService;
     private final TagService tagService;
-    private static final int WPM = 200;
+    private final PostMapper postMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id"); // id breaks ties so keyset paging is stable
+    private static final int VIEW_UPDATE_CHUNK = 1000; // keeps IN lists well under driver parameter limits
 
     @Override
     public Post getPost(UUID id) {
-        return postRepository.findById(id).orElseThrow(()-> new EntityNotFoundException("Post with id " + id + " not found"));
+        return postRepository.findWithAssociationsById(id).orElseThrow(()-> new EntityNotFoundException("Post with id " + id + " not found"));
+    }
+
+    // validator for conditional GETs, reads a single column instead of the post and its associations
+    @Override
+    public LocalDateTime getPostUpdatedAt(UUID id) {
+        return postRepository.findUpdatedAtById(id).orElseThrow(()-> new EntityNotFoundException("Post with id " + id + " not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Post> getAllPosts(UUID categoryId, UUID tagId, ScrollPosition position, int size) {
+        return findPublished(categoryId, tagId, position, size, Post.class);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Post> getAllPosts(UUID categoryId, UUID tagId) {
+    public Window<PostSummaryDto> getPostSummaries(UUID categoryId, UUID tagId, ScrollPosition position, int size) {
+        Window<PostSummary> summaries = findPublished(categoryId, tagId, position, size, PostSummary.class);
+        Map<UUID, Set<String>> tagNames = findTagNames(summaries.getContent());
+        return summaries.map(summary -> postMapper.toSummaryDto(summary, tagNames.getOrDefault(summary.getId(), Set.of())));
+    }
+
+    // summaries in the order of the given ids; ids that are gone or no longer published are dropped
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> getPublishedSummaries(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, PostSummary> summaries = postRepository.findAllByIdInAndStatus(ids, PostStatus.PUBLISHED, PostSummary.class).stream()
+                .collect(Collectors.toMap(PostSummary::getId, summary -> summary));
+        Map<UUID, Set<String>> tagNames = findTagNames(List.copyOf(summaries.values()));
+        return ids.stream()
+                .filter(summaries::containsKey)
+                .map(id -> postMapper.toSummaryDto(summaries.get(id), tagNames.getOrDefault(id, Set.of())))
+                .toList();
+    }
+
+    @Override
+    public List<Post> getDraftPosts(User user) {
+        return postRepository.findAllByAuthorAndStatus(user, PostStatus.DRAFT, Post.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> getDraftSummaries(User user) {
+        List<PostSummary> summaries = postRepository.findAllByAuthorAndStatus(user, PostStatus.DRAFT, PostSummary.class);
+        Map<UUID, Set<String>> tagNames = findTagNames(summaries);
+        return summaries.stream()
+                .map(summary -> postMapper.toSummaryDto(summary, tagNames.getOrDefault(summary.getId(), Set.of())))
+                .toList();
+    }
+
+    private <T> Window<T> findPublished(UUID categoryId, UUID tagId, ScrollPosition position, int size, Class<T> type) {
+        Limit limit = Limit.of(size);
         if (categoryId != null && tagId != null) {
             Category category = categoryService.getCategoryById(categoryId);
             Tag tag = tagService.getTagById(tagId);
             return postRepository.findAllByStatusAndCategoryAndTagsContains(
                     PostStatus.PUBLISHED,
                     category,
-                    tag
+                    tag,
+                    position, limit, NEWEST_FIRST, type
             );
         }
 
@@ -50,7 +123,8 @@ public class PostServiceImpl implements PostService {
             Category category = categoryService.getCategoryById(categoryId);
             return postRepository.findAllByStatusAndCategory(
                     PostStatus.PUBLISHED,
-                    category
+                    category,
+                    position, limit, NEWEST_FIRST, type
             );
         }
 
@@ -58,16 +132,25 @@ public class PostServiceImpl implements PostService {
             Tag tag = tagService.getTagById(tagId);
             return postRepository.findAllByStatusAndTagsContaining(
                     PostStatus.PUBLISHED,
-                    tag
+                    tag,
+                    position, limit, NEWEST_FIRST, type
             );
         }
 
-        return postRepository.findAllByStatus(PostStatus.PUBLISHED);
+        return postRepository.findAllByStatus(PostStatus.PUBLISHED, position, limit, NEWEST_FIRST, type);
     }
 
-    @Override
-    public List<Post> getDraftPosts(User user) {
-        return postRepository.findAllByAuthorAndStatus(user, PostStatus.DRAFT);
+    // one query for the tag names of a whole page instead of loading each post's tag collection
+    private Map<UUID, Set<String>> findTagNames(List<PostSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return Map.of();
+        }
+        List<UUID> postIds = summaries.stream().map(PostSummary::getId).toList();
+        Map<UUID, Set<String>> tagNames = new HashMap<>();
+        for (PostTagName row : postRepository.findTagNamesByPostIds(postIds)) {
+            tagNames.computeIfAbsent(row.getPostId(), id -> new TreeSet<>()).add(row.getTagName());
+        }
+        return tagNames;
     }
 
     @Override
@@ -75,10 +158,9 @@ public class PostServiceImpl implements PostService {
     public Post createPost(User user, CreatePostRequest createPostRequest) {
         Post newPost = new Post();
         newPost.setTitle(createPostRequest.getTitle());
-        newPost.setContent(createPostRequest.getContent());
         newPost.setStatus(createPostRequest.getStatus());
         newPost.setAuthor(user);
-        newPost.setReadingTime(calculateReadingTime(createPostRequest.getContent()));
+        applyContent(newPost, createPostRequest.getContent());
 
         Category category = categoryService.getCategoryById(createPostRequest.getCategoryId());
         newPost.setCategory(category);
@@ -87,7 +169,9 @@ public class PostServiceImpl implements PostService {
         List<Tag> tags = tagService.getTagsByIds(tagIds);
         newPost.setTags(new HashSet<>(tags));
 
-        return postRepository.save(newPost);
+        Post savedPost = postRepository.save(newPost);
+        postChanged(savedPost.getId(), PostSnapshot.NONE, PostSnapshot.of(savedPost));
+        return savedPost;
     }
 
     @Override
@@ -95,10 +179,11 @@ public class PostServiceImpl implements PostService {
     public Post updatePost(UUID id, UpdatePostRequest updatePostRequest) {
         Post existingPost = postRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Post with id " + id + " not found"));
+        PostSnapshot before = PostSnapshot.of(existingPost);
         existingPost.setTitle(updatePostRequest.getTitle());
-        existingPost.setContent(updatePostRequest.getContent());
         existingPost.setStatus(updatePostRequest.getStatus());
-        existingPost.setReadingTime(calculateReadingTime(updatePostRequest.getContent()));
+        applyContent(existingPost, updatePostRequest.getContent());
+        existingPost.setUpdatedAt(LocalDateTime.now()); // a tag-only change does not dirty the row, but it does change the post's ETag
 
         UUID updatePostRequestCategoryId = updatePostRequest.getCategoryId();
         if (!existingPost.getCategory().getId().equals(updatePostRequestCategoryId)) {
@@ -111,22 +196,143 @@ public class PostServiceImpl implements PostService {
             List<Tag> newTags = tagService.getTagsByIds(updateTagIds);
             existingPost.setTags(new HashSet<>(newTags));
         }
-        return postRepository.save(existingPost);
+        Post savedPost = postRepository.save(existingPost);
+        postChanged(id, before, PostSnapshot.of(savedPost));
+        return savedPost;
 
     }
 
     @Override
+    @Transactional
     public void deletePost(UUID id) {
         Post post = getPost(id);
+        postChanged(id, PostSnapshot.of(post), PostSnapshot.NONE);
         postRepository.delete(post);
     }
 
-    private Integer calculateReadingTime(String content) {
-        if (content == null || content.isEmpty()) {
-            return 0;
+    // a whole batch in one transaction: categories and tags are loaded once, the inserts go out as jdbc batches
+    // (hibernate.jdbc.batch_size, order_inserts) and the counters are moved once per category and tag
+    @Override
+    @Transactional
+    public List<Post> importPosts(User author, List<CreatePostRequest> createPostRequests) {
+        Set<UUID> categoryIds = createPostRequests.stream().map(CreatePostRequest::getCategoryId).collect(Collectors.toSet());
+        Set<UUID> tagIds = createPostRequests.stream().flatMap(request -> request.getTagIds().stream()).collect(Collectors.toSet());
+        Map<UUID, Category> categories = categoryService.getCategoriesByIds(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, category -> category));
+        Map<UUID, Tag> tags = tagIds.isEmpty() ? Map.of() : tagService.getTagsByIds(tagIds).stream()
+                .collect(Collectors.toMap(Tag::getId, tag -> tag));
+
+        List<Post> posts = new ArrayList<>(createPostRequests.size());
+        for (CreatePostRequest request : createPostRequests) {
+            Post post = new Post();
+            post.setTitle(request.getTitle());
+            post.setStatus(request.getStatus());
+            post.setAuthor(author);
+            post.setCreatedAt(request.getCreatedAt());
+            post.setCategory(categories.get(request.getCategoryId()));
+            post.setTags(request.getTagIds().stream().map(tags::get).collect(Collectors.toCollection(HashSet::new)));
+            applyContent(post, request.getContent());
+            posts.add(post);
+        }
+        List<Post> savedPosts = postRepository.saveAll(posts);
+
+        Map<UUID, Integer> categoryDeltas = new HashMap<>();
+        Map<UUID, Integer> tagDeltas = new HashMap<>();
+        savedPosts.forEach(post -> addPostCounts(PostSnapshot.of(post), 1, categoryDeltas, tagDeltas));
+        applyPostCounts(categoryDeltas, tagDeltas);
+        List<UUID> publishedIds = savedPosts.stream().filter(post -> post.getStatus() == PostStatus.PUBLISHED).map(Post::getId).toList();
+        eventPublisher.publishEvent(new PostsImportedEvent(publishedIds));
+        return savedPosts;
+    }
+
+    // sanitizes and analyzes one batch of posts written before that happened on save, returns how many were done
+    @Override
+    @Transactional
+    public int migrateLegacyPosts(int batchSize) {
+        List<UUID> ids = postRepository.findLegacyIds(Limit.of(batchSize));
+        for (UUID id : ids) {
+            postRepository.findProjectedById(id, PostText.class).ifPresent(post -> {
+                String content = post.getContentHash() != null ? post.getContent() : HtmlSanitizer.sanitize(post.getContent());
+                ContentAnalysis analysis = ContentAnalyzer.analyze(content);
+                postRepository.updateLegacyContent(id, content, ContentHash.of(content),
+                        analysis.wordCount(), analysis.readingTime(), analysis.excerpt(), analysis.toc());
+            });
+        }
+        return ids.size();
+    }
+
+    @Override
+    public String getContentByHash(String contentHash) {
+        // only published content, the endpoint serves it to anyone and lets every cache keep it
+        return postRepository.findContentByContentHashAndStatus(contentHash, PostStatus.PUBLISHED, Limit.of(1)).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Post content " + contentHash + " not found"));
+    }
+
+    @Override
+    @Transactional
+    public void addViews(Map<UUID, Long> views) {
+        // most posts are viewed a handful of times between flushes, so grouping by delta keeps this to a few statements
+        Map<Long, List<UUID>> idsByDelta = new HashMap<>();
+        views.forEach((id, delta) -> idsByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(id));
+        idsByDelta.forEach((delta, ids) -> {
+            for (int from = 0; from < ids.size(); from += VIEW_UPDATE_CHUNK) {
+                postRepository.addToViewCount(ids.subList(from, Math.min(from + VIEW_UPDATE_CHUNK, ids.size())), delta);
+            }
+        });
+    }
+
+    @Override
+    public List<PostViewsDto> getMostViewed(int size) {
+        return postRepository.findMostViewed(Limit.of(size));
+    }
+
+    // moves the published-post counters on categories and tags by the difference between two states of a post,
+    // in the caller's transaction so they commit or roll back with the post itself
+    private void updatePostCounts(PostSnapshot before, PostSnapshot after) {
+        Map<UUID, Integer> categoryDeltas = new HashMap<>();
+        Map<UUID, Integer> tagDeltas = new HashMap<>();
+        addPostCounts(before, -1, categoryDeltas, tagDeltas);
+        addPostCounts(after, 1, categoryDeltas, tagDeltas);
+        applyPostCounts(categoryDeltas, tagDeltas);
+    }
+
+    private void applyPostCounts(Map<UUID, Integer> categoryDeltas, Map<UUID, Integer> tagDeltas) {
+        categoryDeltas.forEach((categoryId, delta) -> {
+            if (delta != 0) {
+                categoryService.addToPostCount(categoryId, delta);
+            }
+        });
+        Map<Integer, List<UUID>> tagIdsByDelta = tagDeltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        tagIdsByDelta.forEach((delta, tagIds) -> tagService.addToPostCount(tagIds, delta));
+    }
+
+    // only published posts are counted
+    private void addPostCounts(PostSnapshot snapshot, int sign, Map<UUID, Integer> categoryDeltas, Map<UUID, Integer> tagDeltas) {
+        if (!snapshot.isPublished()) {
+            return;
         }
+        categoryDeltas.merge(snapshot.getCategoryId(), sign, Integer::sum);
+        snapshot.getTagIds().forEach(tagId -> tagDeltas.merge(tagId, sign, Integer::sum));
+    }
+
+    private void postChanged(UUID postId, PostSnapshot before, PostSnapshot after) {
+        updatePostCounts(before, after);
+        eventPublisher.publishEvent(new PostChangedEvent(postId, before, after));
+    }
 
-        int wordCount = content.trim().split("\\s+").length; // non whitespace
-        return (int) Math.ceil((double) wordCount / WPM);
+    // sanitized, hashed and analyzed once per write and stored; readers and list views never parse content
+    private void applyContent(Post post, String html) {
+        String content = HtmlSanitizer.sanitize(html);
+        ContentAnalysis analysis = ContentAnalyzer.analyze(content);
+        post.setContent(content);
+        post.setContentHash(ContentHash.of(content));
+        post.setWordCount(analysis.wordCount());
+        post.setReadingTime(analysis.readingTime());
+        post.setExcerpt(analysis.excerpt());
+        post.setToc(analysis.toc());
     }
 }
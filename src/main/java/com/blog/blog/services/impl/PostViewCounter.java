@@ -0,0 +1,95 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.PostSnapshot;
+import com.blog.blog.domain.events.PostChangedEvent;
+import com.blog.blog.domain.events.PostViewsRecordedEvent;
+import com.blog.blog.services.PostService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// counts post views in memory and writes them behind in bulk, so reading a post never waits on a db write.
+// views recorded since the last flush are lost only if the process dies without a normal shutdown.
+// the map holds only posts viewed since the previous flush: an idle adder is dropped, and a view that lands on one
+// just as it is dropped is moved to its replacement, by the flush or by the recording thread, whichever sees it
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostViewCounter {
+
+    private final PostService postService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentHashMap<UUID, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void record(UUID postId) {
+        LongAdder adder = pending.computeIfAbsent(postId, id -> new LongAdder());
+        adder.increment();
+        if (pending.get(postId) != adder) {
+            // dropped by a flush or a delete while this view landed; sumThenReset hands each view to one caller only
+            long stray = adder.sumThenReset();
+            if (stray > 0) {
+                pending.computeIfAbsent(postId, id -> new LongAdder()).add(stray);
+            }
+        }
+    }
+
+    public long pendingViews(UUID postId) {
+        LongAdder views = pending.get(postId);
+        return views == null ? 0 : views.sum();
+    }
+
+    @Scheduled(initialDelayString = "${blog.post-views.flush-interval:PT5S}",
+            fixedDelayString = "${blog.post-views.flush-interval:PT5S}")
+    public synchronized void flush() {
+        Map<UUID, Long> views = new HashMap<>();
+        pending.forEach((postId, adder) -> {
+            long count = adder.sumThenReset();
+            if (count == 0 && pending.remove(postId, adder)) {
+                count = adder.sumThenReset(); // views that landed between the reset and the removal
+            }
+            if (count > 0) {
+                views.merge(postId, count, Long::sum);
+            }
+        });
+        if (views.isEmpty()) {
+            return;
+        }
+        try {
+            postService.addViews(views);
+        } catch (RuntimeException e) {
+            // put them back for the next attempt
+            views.forEach((postId, count) -> pending.computeIfAbsent(postId, id -> new LongAdder()).add(count));
+            log.warn("Could not write views for {} posts, will retry", views.size(), e);
+            return;
+        }
+        eventPublisher.publishEvent(new PostViewsRecordedEvent(views));
+    }
+
+    // a view racing the delete may bring the adder back; it is written once as a no-op and then dropped as idle
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getAfter() == PostSnapshot.NONE) {
+            pending.remove(event.getPostId());
+        }
+    }
+
+    int trackedPosts() {
+        return pending.size();
+    }
+
+    // runs before the datasource is closed, since this bean depends on it through the post service
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,43 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.PostStatus;
+import com.blog.blog.repositories.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Consumer;
+
+// reads every published post in keyset batches, oldest first, as the projection an in-memory index is built from;
+// only one batch is held at a time however many posts there are
+@Component
+@RequiredArgsConstructor
+public class PublishedPostScanner {
+
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "createdAt", "id");
+
+    private final PostRepository postRepository;
+
+    public <T> void scan(Class<T> type, int batchSize, Consumer<List<T>> consumer) {
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<T> batch;
+        do {
+            batch = postRepository.findAllByStatus(PostStatus.PUBLISHED, position, Limit.of(batchSize), OLDEST_FIRST, type);
+            if (!batch.isEmpty()) {
+                consumer.accept(batch.getContent());
+                position = batch.positionAt(batch.size() - 1);
+            }
+        } while (batch.hasNext());
+    }
+
+    // index timestamps are epoch millis in the zone the dates were written in
+    public static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
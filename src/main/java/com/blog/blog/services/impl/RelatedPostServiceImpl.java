@@ -0,0 +1,146 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.PostRelations;
+import com.blog.blog.domain.PostStatus;
+import com.blog.blog.domain.PostTagId;
+import com.blog.blog.domain.dtos.CacheStatsDto;
+import com.blog.blog.domain.dtos.PostSummaryDto;
+import com.blog.blog.domain.events.PostChangedEvent;
+import com.blog.blog.domain.events.PostsImportedEvent;
+import com.blog.blog.related.TagSimilarityIndex;
+import com.blog.blog.repositories.PostRepository;
+import com.blog.blog.services.PostService;
+import com.blog.blog.services.RelatedPostService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// related posts from the in-memory tag index; the ranked ids are cached per post until the index changes,
+// since any published post can shift the tag weights everyone else is scored with
+@Slf4j
+@Service
+public class RelatedPostServiceImpl implements RelatedPostService {
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final PublishedPostScanner scanner;
+    private final int batchSize;
+    private final int maxRelated;
+    private final Cache<UUID, List<UUID>> cache;
+    // index writes run one at a time, in the order the posts committed
+    private final IndexWorker indexer;
+    private volatile TagSimilarityIndex index = new TagSimilarityIndex();
+
+    public RelatedPostServiceImpl(PostRepository postRepository,
+                                  PostService postService,
+                                  PublishedPostScanner scanner,
+                                  @Value("${blog.related.batch-size:500}") int batchSize,
+                                  @Value("${blog.related.size:10}") int maxRelated,
+                                  @Value("${blog.related.cache-size:10000}") long cacheSize,
+                                  @Value("${blog.indexing.retry-delay:PT1M}") Duration retryDelay) {
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.scanner = scanner;
+        this.batchSize = batchSize;
+        this.maxRelated = maxRelated;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        this.indexer = new IndexWorker("related-posts-indexer", this::seed, retryDelay);
+    }
+
+    @Override
+    public List<PostSummaryDto> getRelatedPosts(UUID postId, int limit) {
+        List<UUID> ids = cache.get(postId, id -> index.related(id, maxRelated));
+        return postService.getPublishedSummaries(ids.subList(0, Math.min(limit, ids.size())));
+    }
+
+    public CacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .name("relatedPosts")
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        indexer.rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (!event.getBefore().isPublished() && !event.getAfter().isPublished()) {
+            return;
+        }
+        indexer.submit(() -> index(List.of(event.getPostId())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsImported(PostsImportedEvent event) {
+        if (!event.getPublishedPostIds().isEmpty()) {
+            indexer.submit(() -> index(event.getPublishedPostIds()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdown();
+    }
+
+    // builds a fresh index and swaps it in, so a seed that fails halfway leaves the previous one serving
+    private void seed() {
+        long start = System.nanoTime();
+        TagSimilarityIndex fresh = new TagSimilarityIndex();
+        scanner.scan(PostRelations.class, batchSize, posts -> put(fresh, posts));
+        index = fresh;
+        cache.invalidateAll();
+        log.info("Indexed {} posts for related posts in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // re-reads the posts, so whatever is published now wins over the order events were queued in
+    private void index(List<UUID> postIds) {
+        List<PostRelations> published = postRepository.findAllByIdInAndStatus(postIds, PostStatus.PUBLISHED, PostRelations.class);
+        TagSimilarityIndex current = index;
+        put(current, published);
+        if (published.size() < postIds.size()) {
+            Map<UUID, PostRelations> byId = published.stream().collect(Collectors.toMap(PostRelations::getId, post -> post));
+            postIds.stream().filter(id -> !byId.containsKey(id)).forEach(current::remove);
+        }
+        cache.invalidateAll();
+    }
+
+    private void put(TagSimilarityIndex index, List<PostRelations> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<UUID>> tagIds = new HashMap<>();
+        for (PostTagId postTag : postRepository.findTagIdsByPostIds(posts.stream().map(PostRelations::getId).toList())) {
+            tagIds.computeIfAbsent(postTag.getPostId(), id -> new ArrayList<>()).add(postTag.getTagId());
+        }
+        for (PostRelations post : posts) {
+            index.put(post.getId(), post.getCategoryId(), tagIds.getOrDefault(post.getId(), List.of()),
+                    PublishedPostScanner.toMillis(post.getCreatedAt()));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.entities.RevokedToken;
+import com.blog.blog.repositories.RevokedTokenRepository;
+import com.blog.blog.security.TokenDenylist;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+// revocations are written to the revoked_tokens table and mirrored in memory, where every request checks them.
+// the table is read back before the app starts serving, so a restart forgets nothing that has not expired.
+// a revocation is committed before it is mirrored: one that fails to save leaves no trace, and a retry is not a replay
+@Slf4j
+@Component
+public class RevokedTokenStore {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenDenylist denylist;
+
+    public RevokedTokenStore(RevokedTokenRepository revokedTokenRepository,
+                             @Value("${blog.jwt.denylist.expected-size:10000}") int expectedSize) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.denylist = new TokenDenylist(expectedSize);
+    }
+
+    @PostConstruct
+    public void load() {
+        long now = System.currentTimeMillis();
+        List<RevokedToken> revoked = revokedTokenRepository.findAllByExpiresAtAfter(toLocalDateTime(now));
+        for (RevokedToken token : revoked) {
+            denylist.revoke(token.getId(), toMillis(token.getExpiresAt()));
+        }
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    // false when the id was already revoked, here or by another instance
+    public boolean revoke(UUID id, long expiresAtMillis) {
+        if (isRevoked(id)) {
+            return false;
+        }
+        try {
+            revokedTokenRepository.insert(id, toLocalDateTime(expiresAtMillis));
+        } catch (DataIntegrityViolationException e) {
+            denylist.revoke(id, expiresAtMillis);
+            return false;
+        }
+        denylist.revoke(id, expiresAtMillis);
+        return true;
+    }
+
+    public boolean isRevoked(UUID id) {
+        return denylist.isRevoked(id, System.currentTimeMillis());
+    }
+
+    @Scheduled(initialDelayString = "${blog.jwt.denylist.prune-interval:PT1H}",
+            fixedDelayString = "${blog.jwt.denylist.prune-interval:PT1H}")
+    @Transactional
+    public void prune() {
+        long now = System.currentTimeMillis();
+        int pruned = denylist.prune(now);
+        int deleted = revokedTokenRepository.deleteExpired(toLocalDateTime(now));
+        if (pruned > 0 || deleted > 0) {
+            log.info("Pruned {} expired revocations, deleted {} rows", pruned, deleted);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,54 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.content.ContentHash;
+import com.blog.blog.content.HtmlSanitizer;
+import com.blog.blog.domain.dtos.CacheStatsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+// sanitized post bodies keyed by content hash, bounded by total size. Covers two cases: the content-addressed
+// endpoint, and posts that have not been migrated yet, whose raw html is sanitized once here instead of per request
+@Component
+public class SanitizedContentCache {
+
+    private static final String LEGACY_PREFIX = "raw:";
+
+    private final Cache<String, String> cache;
+
+    public SanitizedContentCache(@Value("${blog.content-cache.maximum-bytes:33554432}") long maximumBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, String content) -> 2 * (key.length() + content.length())) // utf-16 chars
+                .recordStats()
+                .build();
+    }
+
+    // html that is safe to ship: stored content when it has a hash, otherwise the cached sanitized form of the raw html
+    public String render(String content, String contentHash) {
+        if (contentHash != null || content == null) {
+            return content;
+        }
+        return cache.get(LEGACY_PREFIX + ContentHash.of(content), key -> HtmlSanitizer.sanitize(content));
+    }
+
+    public String getByHash(String contentHash, Function<String, String> loader) {
+        return cache.get(contentHash, loader);
+    }
+
+    public CacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .name("sanitizedContent")
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -1,11 +1,16 @@
 package com.blog.blog.services.impl;
 
+import com.blog.blog.domain.PostStatus;
 import com.blog.blog.domain.entities.Tag;
+import com.blog.blog.domain.events.TagDeletedEvent;
+import com.blog.blog.domain.events.TagsCreatedEvent;
+import com.blog.blog.repositories.PostRepository;
 import com.blog.blog.repositories.TagRepository;
 import com.blog.blog.services.TagService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -16,10 +21,12 @@ import java.util.stream.Collectors;
 public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
+    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<Tag> getTags() {
-        return tagRepository.findAllTagsWithPostCounts();
+        return tagRepository.findAll(); // post counts are stored on the row, no join needed
     }
 
     @Transactional
@@ -40,6 +47,7 @@ public class TagServiceImpl implements TagService {
 
         if (!newTags.isEmpty()) {
             tagRepository.saveAll(newTags);
+            eventPublisher.publishEvent(new TagsCreatedEvent(newTags.stream().map(Tag::getId).toList()));
         }
 
         existingTags.addAll(newTags);
@@ -50,10 +58,11 @@ public class TagServiceImpl implements TagService {
     @Override
     public void deleteTag(UUID id) {
         tagRepository.findById(id).ifPresent(tag -> {
-                    if (!tag.getPosts().isEmpty()) {
+                    if (postRepository.existsByTagsId(id)) { // drafts count too, so the published counter is not enough
                         throw new IllegalStateException("Cannot delete tag with posts");
                     }
                     tagRepository.deleteById(id);
+                    eventPublisher.publishEvent(new TagDeletedEvent(id));
                 }
         );
     }
@@ -72,4 +81,18 @@ public class TagServiceImpl implements TagService {
         return foundTags;
     }
 
+    @Transactional
+    @Override
+    public void addToPostCount(Collection<UUID> ids, int delta) {
+        if (!ids.isEmpty()) {
+            tagRepository.addToPostCount(ids, delta);
+        }
+    }
+
+    @Transactional
+    @Override
+    public int reconcilePostCounts() {
+        return tagRepository.reconcilePostCounts(PostStatus.PUBLISHED);
+    }
+
 }
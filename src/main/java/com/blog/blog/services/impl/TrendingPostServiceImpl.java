@@ -0,0 +1,136 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.PostActivity;
+import com.blog.blog.domain.PostStatus;
+import com.blog.blog.domain.dtos.PostSummaryDto;
+import com.blog.blog.domain.events.PostChangedEvent;
+import com.blog.blog.domain.events.PostViewsRecordedEvent;
+import com.blog.blog.domain.events.PostsImportedEvent;
+import com.blog.blog.repositories.PostRepository;
+import com.blog.blog.services.PostService;
+import com.blog.blog.services.TrendingPostService;
+import com.blog.blog.trending.DecayedTopK;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+// published posts ranked by views and publication, both fading with the configured half-life.
+// publishing counts as publishWeight views at the time it happened, so new posts start near the top and sink unless read.
+// the ranking is seeded off the startup thread into a fresh instance that is swapped in when complete: views flushed
+// while seeding land in the old one and are dropped with it, so they are counted once, through the persisted totals
+@Slf4j
+@Service
+public class TrendingPostServiceImpl implements TrendingPostService {
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final PublishedPostScanner scanner;
+    private final int size;
+    private final Duration halfLife;
+    private final int batchSize;
+    private final double publishWeight;
+    // the seed and publication changes run one at a time, so a change racing the seed lands in the seeded ranking
+    private final IndexWorker seeder;
+    private volatile DecayedTopK ranking;
+
+    public TrendingPostServiceImpl(PostRepository postRepository,
+                                   PostService postService,
+                                   PublishedPostScanner scanner,
+                                   @Value("${blog.trending.size:100}") int size,
+                                   @Value("${blog.trending.half-life:PT24H}") Duration halfLife,
+                                   @Value("${blog.trending.publish-weight:20}") double publishWeight,
+                                   @Value("${blog.trending.batch-size:500}") int batchSize,
+                                   @Value("${blog.indexing.retry-delay:PT1M}") Duration retryDelay) {
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.scanner = scanner;
+        this.size = size;
+        this.halfLife = halfLife;
+        this.batchSize = batchSize;
+        this.publishWeight = publishWeight;
+        this.ranking = new DecayedTopK(size, halfLife, System.currentTimeMillis());
+        this.seeder = new IndexWorker("trending-posts-seeder", this::seed, retryDelay);
+    }
+
+    @Override
+    public List<PostSummaryDto> getTrending(int limit) {
+        return postService.getPublishedSummaries(ranking.top(limit));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        seeder.rebuild();
+    }
+
+    @EventListener
+    public void onPostViewsRecorded(PostViewsRecordedEvent event) {
+        long now = System.currentTimeMillis();
+        event.getViews().forEach((postId, views) -> ranking.add(postId, views, now)); // drafts are not tracked and drop out here
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        boolean before = event.getBefore().isPublished();
+        boolean after = event.getAfter().isPublished();
+        long now = System.currentTimeMillis();
+        if (before && !after) {
+            seeder.submit(() -> ranking.remove(event.getPostId()));
+        } else if (!before && after) {
+            seeder.submit(() -> publish(event.getPostId(), now));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsImported(PostsImportedEvent event) {
+        if (!event.getPublishedPostIds().isEmpty()) {
+            seeder.submit(() -> imported(event.getPublishedPostIds()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        seeder.shutdown();
+    }
+
+    // persisted view counts have no timestamps, so they are taken as spread evenly over the life of each post
+    private void seed() {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        DecayedTopK fresh = new DecayedTopK(size, halfLife, now);
+        scanner.scan(PostActivity.class, batchSize, posts -> {
+            for (PostActivity post : posts) {
+                long createdAt = PublishedPostScanner.toMillis(post.getCreatedAt());
+                fresh.track(post.getId());
+                fresh.add(post.getId(), publishWeight, createdAt);
+                if (post.getViewCount() > 0) {
+                    fresh.addSpread(post.getId(), post.getViewCount(), createdAt, now);
+                }
+            }
+        });
+        ranking = fresh;
+        log.info("Seeded trending posts from {} published posts in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // a post the seed already read keeps the publish weight it got there
+    private void publish(UUID postId, long atMillis) {
+        DecayedTopK current = ranking;
+        if (current.track(postId)) {
+            current.add(postId, publishWeight, atMillis);
+        }
+    }
+
+    // imported posts keep their original dates, an old post should not arrive as new
+    private void imported(List<UUID> postIds) {
+        for (PostActivity post : postRepository.findAllByIdInAndStatus(postIds, PostStatus.PUBLISHED, PostActivity.class)) {
+            publish(post.getId(), PublishedPostScanner.toMillis(post.getCreatedAt()));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.dtos.CacheStatsDto;
+import com.blog.blog.domain.entities.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+// users by id for the requests that still need the entity, e.g. as a post author. entries are detached copies:
+// only read their columns, never their posts. UserChangeListener drops an entry as soon as its row changes
+@Component
+public class UserCache {
+
+    private final Cache<UUID, User> cache;
+
+    public UserCache(@Value("${blog.user-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${blog.user-cache.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public User get(UUID id, Function<UUID, User> loader) {
+        return cache.get(id, loader);
+    }
+
+    public void invalidate(UUID id) {
+        cache.invalidate(id);
+    }
+
+    public CacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .name("users")
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.entities.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+// jpa entity listener on User, created by hibernate through spring. the cache is looked up lazily
+// because jpa-only contexts (repository tests) build the entity manager without it
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final ObjectProvider<UserCache> userCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        userCache.ifAvailable(cache -> cache.invalidate(user.getId()));
+    }
+}
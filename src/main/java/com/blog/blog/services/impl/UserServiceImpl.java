@@ -18,12 +18,13 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
 
     @Override
     public User getUserById(UUID id) {
-        return userRepository
-                .findById(id)
-                .orElseThrow(()-> new EntityNotFoundException("User not found with  id " + id));
+        return userCache.get(id, key -> userRepository
+                .findById(key)
+                .orElseThrow(()-> new EntityNotFoundException("User not found with  id " + key)));
     }
 
     @Override
@@ -0,0 +1,81 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.dtos.CacheStatsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+// tokens whose signature has been checked, so a page firing dozens of api calls verifies its token once.
+// keyed by the sha-256 of the token, never the token itself; an entry lives until the token expires or maxTtl, whichever is first
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<ByteBuffer, Verified> cache;
+
+    public VerifiedTokenCache(@Value("${blog.jwt.verified-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${blog.jwt.verified-cache.max-ttl:PT5M}") Duration maxTtl) {
+        long maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<ByteBuffer, Verified>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, Verified value, long currentTime) {
+                        long untilExpiry = Duration.ofMillis(value.expiresAtMillis() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, Verified value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, Verified value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    // a token that fails verification throws from the loader and is not cached. revocation is checked by the caller on
+    // every hit, an entry says nothing about whether its token is still wanted
+    public Verified get(String token, Function<String, Verified> verifier) {
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    public CacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .name("verifiedTokens")
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record Verified(UserDetails userDetails, UUID tokenId, UUID sessionId, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.blog.blog.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// token buckets by key. a bucket is one AtomicLong holding the time it will be full again, so taking a token is a
+// single compare-and-set and no lock is ever held. buckets sit in a size-bounded map and are dropped once idle long
+// enough to have refilled; a dropped bucket and a full one behave the same
+public class RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final long intervalNanos; // one token comes back every interval
+    private final long burstNanos; // capacity * interval
+
+    public RateLimiter(int capacity, Duration refillInterval, long maxKeys) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.intervalNanos = refillInterval.toNanos();
+        this.burstNanos = intervalNanos * capacity;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+    }
+
+    // 0 when a token was taken, otherwise the nanos until one is available
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(nowNanos));
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,138 @@
+package com.blog.blog.trending;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+// exponentially decayed scores with a bounded top-k on the side. scores are kept as ln(sum of w * e^(lambda * (t - landmark))),
+// so every score decays at the same rate and the order never changes on its own: nothing is rescanned as time passes,
+// an event only moves its own post in the top-k. working in logs keeps the growing exponent from overflowing
+public class DecayedTopK {
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator.comparingDouble((Entry entry) -> -entry.logScore)
+            .thenComparing(entry -> entry.id);
+
+    private final int capacity;
+    private final double lambda; // per millisecond
+    private final long landmark;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> top = new TreeSet<>(BEST_FIRST);
+
+    public DecayedTopK(int capacity, Duration halfLife, long landmarkMillis) {
+        if (capacity < 1 || halfLife.isNegative() || halfLife.isZero()) {
+            throw new IllegalArgumentException("Top-k needs a positive capacity and half-life");
+        }
+        this.capacity = capacity;
+        this.lambda = Math.log(2) / halfLife.toMillis();
+        this.landmark = landmarkMillis;
+    }
+
+    // starts tracking a post, false if it already was; events for posts that are not tracked are ignored
+    public synchronized boolean track(UUID id) {
+        if (entries.containsKey(id)) {
+            return false;
+        }
+        Entry entry = new Entry(id);
+        entries.put(id, entry);
+        offer(entry);
+        return true;
+    }
+
+    // weight counted at a single instant
+    public synchronized boolean add(UUID id, double weight, long atMillis) {
+        return raise(id, Math.log(weight) + lambda * (atMillis - landmark));
+    }
+
+    // weight assumed evenly spread between two instants, for totals whose individual times are unknown
+    public synchronized boolean addSpread(UUID id, double weight, long fromMillis, long toMillis) {
+        long span = toMillis - fromMillis;
+        if (span <= 0) {
+            return add(id, weight, toMillis);
+        }
+        double x = lambda * span;
+        // integral of (weight / span) * e^(lambda * (t - landmark)) over the span
+        return raise(id, Math.log(weight) + lambda * (toMillis - landmark) + Math.log(-Math.expm1(-x)) - Math.log(x));
+    }
+
+    public synchronized void remove(UUID id) {
+        Entry entry = entries.remove(id);
+        if (entry != null && top.remove(entry)) {
+            refill();
+        }
+    }
+
+    public synchronized List<UUID> top(int limit) {
+        List<UUID> ids = new ArrayList<>(Math.min(limit, top.size()));
+        for (Entry entry : top) {
+            if (ids.size() == limit) {
+                break;
+            }
+            ids.add(entry.id);
+        }
+        return ids;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean raise(UUID id, double logWeight) {
+        Entry entry = entries.get(id);
+        if (entry == null || Double.isNaN(logWeight) || logWeight == Double.NEGATIVE_INFINITY) {
+            return false;
+        }
+        boolean inTop = top.remove(entry);
+        entry.logScore = logSumExp(entry.logScore, logWeight);
+        if (inTop) {
+            top.add(entry);
+        } else {
+            offer(entry);
+        }
+        return true;
+    }
+
+    // scores only grow, so a post outside the top-k can only get in through its own event
+    private void offer(Entry entry) {
+        if (top.size() < capacity) {
+            top.add(entry);
+        } else if (BEST_FIRST.compare(entry, top.last()) < 0) {
+            top.pollLast();
+            top.add(entry);
+        }
+    }
+
+    // after a removal the next best is somewhere outside the top-k; removals are rare, so just look
+    private void refill() {
+        Entry best = null;
+        for (Entry entry : entries.values()) {
+            if (!top.contains(entry) && (best == null || BEST_FIRST.compare(entry, best) < 0)) {
+                best = entry;
+            }
+        }
+        if (best != null) {
+            top.add(best);
+        }
+    }
+
+    private static double logSumExp(double a, double b) {
+        if (a == Double.NEGATIVE_INFINITY) {
+            return b;
+        }
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(-Math.abs(a - b)));
+    }
+
+    private static final class Entry {
+        private final UUID id;
+        private double logScore = Double.NEGATIVE_INFINITY;
+
+        private Entry(UUID id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- published listings are paged by (created_at, id), overall or within a category, and tag pages join post_tags by tag
+create index if not exists idx_posts_status_created_at on posts (status, created_at, id);
+create index if not exists idx_posts_status_category_created_at on posts (status, category_id, created_at, id);
+create index if not exists idx_post_tags_tag_id on post_tags (tag_id, post_id);
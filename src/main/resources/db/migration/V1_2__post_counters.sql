@@ -0,0 +1,8 @@
+-- published post counts kept on categories and tags, counted once here for the posts that already exist
+alter table categories add column if not exists post_count bigint default 0 not null;
+alter table tags add column if not exists post_count integer default 0 not null;
+
+update categories c set post_count = (
+    select count(*) from posts p where p.category_id = c.id and p.status = 'PUBLISHED');
+update tags t set post_count = (
+    select count(*) from post_tags pt join posts p on p.id = pt.post_id where pt.tag_id = t.id and p.status = 'PUBLISHED');
@@ -0,0 +1,9 @@
+-- results of the write-time content analysis and sanitizing, and the view counter. existing posts keep a null toc and
+-- content_hash until PostContentBackfillJob has analyzed and sanitized them, which also sets their word_count and excerpt
+alter table posts add column if not exists content_hash varchar(64);
+alter table posts add column if not exists word_count integer default 0 not null;
+alter table posts add column if not exists excerpt varchar(500);
+alter table posts add column if not exists toc jsonb;
+alter table posts add column if not exists view_count bigint default 0 not null;
+
+create index if not exists idx_posts_content_hash on posts (content_hash);
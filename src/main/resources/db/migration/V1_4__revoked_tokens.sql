@@ -0,0 +1,8 @@
+-- revoked refresh tokens and sessions, kept until the tokens would have expired anyway
+create table if not exists revoked_tokens (
+    id uuid not null,
+    expires_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index if not exists idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
@@ -0,0 +1,71 @@
+-- the schema hibernate's ddl-auto=update created for the first release. databases created that way are baselined at
+-- this version (spring.flyway.baseline-on-migrate) and only run what follows, so this file must never change
+
+create table users (
+    id uuid not null,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    name varchar(255) not null,
+    is_admin boolean default false not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table categories (
+    id uuid not null,
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table tags (
+    id uuid not null,
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table posts (
+    id uuid not null,
+    title varchar(255) not null,
+    content text not null,
+    status varchar(255) not null check (status in ('DRAFT','PUBLISHED')),
+    reading_time integer not null,
+    author_id uuid not null,
+    category_id uuid not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table post_tags (
+    post_id uuid not null,
+    tag_id uuid not null,
+    primary key (post_id, tag_id)
+);
+
+create table bookings (
+    id uuid not null,
+    name varchar(255) not null,
+    email varchar(255) not null,
+    phone varchar(255),
+    service varchar(255) not null,
+    date_time timestamp(6) not null,
+    message varchar(255),
+    confirmed boolean not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table contact_messages (
+    id uuid not null,
+    name varchar(255) not null,
+    email varchar(255) not null,
+    message text not null,
+    created_at timestamp(6) not null,
+    is_read boolean,
+    primary key (id)
+);
+
+alter table post_tags add constraint FKm6cfovkyqvu5rlm6ahdx3eavj foreign key (tag_id) references tags;
+alter table post_tags add constraint FKkifam22p4s1nm3bkmp1igcn5w foreign key (post_id) references posts;
+alter table posts add constraint FK6xvn0811tkyo3nfjk2xvqx6ns foreign key (author_id) references users;
+alter table posts add constraint FKijnwr3brs8vaosl80jg9rp7uc foreign key (category_id) references categories;
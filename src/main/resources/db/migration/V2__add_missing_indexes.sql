@@ -0,0 +1,9 @@
+-- drafts by author and the author foreign key, which postgres does not index by itself
+create index if not exists idx_posts_author_status on posts (author_id, status);
+
+-- the admin inbox lists messages newest first, all of them or only the unread ones
+create index if not exists idx_contact_messages_created_at on contact_messages (created_at);
+create index if not exists idx_contact_messages_unread_created_at on contact_messages (is_read, created_at);
+
+-- a client's bookings, newest first
+create index if not exists idx_bookings_email_date_time on bookings (email, date_time);
@@ -0,0 +1,14 @@
+-- every booking claims the cells of its service's slot grid it covers, the unique key keeps two overlapping bookings
+-- out even when they are taken at the same moment. bookings made before this have no claims, the in-memory
+-- availability index still guards them
+create table booking_slots (
+    id uuid not null,
+    booking_id uuid not null,
+    service varchar(255) not null,
+    slot_start timestamp(6) not null,
+    primary key (id),
+    constraint uk_booking_slots_service_slot_start unique (service, slot_start),
+    constraint fk_booking_slots_booking foreign key (booking_id) references bookings on delete cascade
+);
+
+create index idx_booking_slots_booking_id on booking_slots (booking_id);
@@ -0,0 +1,3 @@
+-- the admin calendar reads bookings by time range, all of them or only the confirmed or unconfirmed ones
+create index if not exists idx_bookings_date_time on bookings (date_time);
+create index if not exists idx_bookings_confirmed_date_time on bookings (confirmed, date_time);
@@ -0,0 +1,6 @@
+-- how far reminders have been sent, so a restart neither sends them again nor scans old bookings
+create table reminder_watermarks (
+    name varchar(255) not null,
+    reminded_until timestamp(6) not null,
+    primary key (name)
+);
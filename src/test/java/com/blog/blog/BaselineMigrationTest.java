@@ -0,0 +1,72 @@
+package com.blog.blog;
+
+import org.h2.tools.RunScript;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// a database the first release created with ddl-auto=update, with data in it: it is baselined at version 1, gets
+// every later migration and then has to match the entities
+@DataJpaTest(properties = {
+        "spring.datasource.url=" + BaselineMigrationTest.URL,
+        "spring.flyway.enabled=true",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BaselineMigrationTest {
+
+    static final String URL = "jdbc:h2:mem:baselined;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void createBaselineDatabase() throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Reader schema = new InputStreamReader(
+                     new ClassPathResource("db/migration/V1__initial_schema.sql").getInputStream(), StandardCharsets.UTF_8);
+             Statement statement = connection.createStatement()) {
+            RunScript.execute(connection, schema);
+            statement.execute("insert into users (id, email, password, name, is_admin, created_at) values "
+                    + "('00000000-0000-0000-0000-000000000001', 'a@example.com', 'x', 'Author', false, now())");
+            statement.execute("insert into categories (id, name) values ('00000000-0000-0000-0000-000000000002', 'Nutrition')");
+            statement.execute("insert into tags (id, name) values ('00000000-0000-0000-0000-000000000003', 'protein')");
+            statement.execute("insert into posts (id, title, content, status, reading_time, author_id, category_id, created_at, updated_at) values "
+                    + "('00000000-0000-0000-0000-000000000004', 'Published', '<p>one</p>', 'PUBLISHED', 1, '00000000-0000-0000-0000-000000000001', '00000000-0000-0000-0000-000000000002', now(), now()), "
+                    + "('00000000-0000-0000-0000-000000000005', 'Draft', '<p>two</p>', 'DRAFT', 1, '00000000-0000-0000-0000-000000000001', '00000000-0000-0000-0000-000000000002', now(), now())");
+            statement.execute("insert into post_tags (post_id, tag_id) values "
+                    + "('00000000-0000-0000-0000-000000000004', '00000000-0000-0000-0000-000000000003'), "
+                    + "('00000000-0000-0000-0000-000000000005', '00000000-0000-0000-0000-000000000003')");
+        }
+    }
+
+    @Test
+    void baselinedDatabaseGetsEveryLaterMigration() {
+        assertThat(jdbcTemplate.queryForObject(
+                "select \"version\" from \"flyway_schema_history\" where \"type\" = 'BASELINE'", String.class)).isEqualTo("1");
+        List<String> applied = jdbcTemplate.queryForList(
+                "select \"version\" from \"flyway_schema_history\" where \"type\" = 'SQL' and \"success\" order by \"installed_rank\"", String.class);
+        assertThat(applied).containsExactly("1.1", "1.2", "1.3", "1.4", "2", "3", "4", "5");
+
+        assertThat(jdbcTemplate.queryForObject("select post_count from categories", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select post_count from tags", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("select view_count from posts", Long.class)).containsOnly(0L);
+        assertThat(jdbcTemplate.queryForList("select toc from posts", Object.class)).containsOnlyNulls();
+    }
+}
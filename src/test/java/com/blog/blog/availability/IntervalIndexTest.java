@@ -0,0 +1,55 @@
+package com.blog.blog.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalIndexTest {
+
+    private final IntervalIndex index = new IntervalIndex();
+
+    @Test
+    void overlapsOnlyWithinTheSameKeyAndHalfOpen() {
+        index.put(UUID.randomUUID(), "initial", 100, 160);
+
+        assertThat(index.overlaps("initial", 130, 190)).isTrue();
+        assertThat(index.overlaps("initial", 40, 101)).isTrue();
+        assertThat(index.overlaps("initial", 160, 220)).isFalse();
+        assertThat(index.overlaps("initial", 40, 100)).isFalse();
+        assertThat(index.overlaps("sport", 100, 160)).isFalse();
+    }
+
+    @Test
+    void freeSkipsEveryCandidateAnIntervalTouches() {
+        index.put(UUID.randomUUID(), "initial", 60, 120);
+        index.put(UUID.randomUUID(), "initial", 150, 210); // off the grid, takes two slots
+        index.put(UUID.randomUUID(), "sport", 0, 600);
+
+        long[] candidates = {0, 60, 120, 180, 240};
+        assertThat(index.free("initial", candidates, 60)).containsExactly(0L, 240L);
+        assertThat(index.free("sport", candidates, 60)).isEmpty();
+        assertThat(index.free("followup", candidates, 60)).containsExactly(0L, 60L, 120L, 180L, 240L);
+    }
+
+    @Test
+    void removedAndPrunedIntervalsFreeTheirSlots() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.put(first, "initial", 60, 120);
+        index.put(second, "initial", 180, 240);
+        long[] candidates = {0, 60, 120, 180};
+
+        assertThat(index.free("initial", candidates, 60)).containsExactly(0L, 120L);
+
+        index.remove(first);
+        assertThat(index.free("initial", candidates, 60)).containsExactly(0L, 60L, 120L);
+
+        index.put(second, "initial", 240, 300); // moved
+        assertThat(index.free("initial", candidates, 60)).containsExactly(0L, 60L, 120L, 180L);
+
+        assertThat(index.removeEndingBefore(300)).isEqualTo(1);
+        assertThat(index.size()).isZero();
+    }
+}
@@ -0,0 +1,90 @@
+package com.blog.blog.config;
+
+import com.blog.blog.security.AuthenticationService;
+import com.blog.blog.security.BlogUserDetails;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Value("${JWT_SECRET}")
+    private String secret;
+
+    @Test
+    void anExpiredTokenOnAProtectedRouteIsA401() throws Exception {
+        String expired = "Bearer " + expiredToken();
+
+        mockMvc.perform(get("/api/v1/posts/drafts").header(HttpHeaders.AUTHORIZATION, expired))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/v1/posts").header(HttpHeaders.AUTHORIZATION, expired)
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/bookings/upcoming").header(HttpHeaders.AUTHORIZATION, expired))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/admin/caches").header(HttpHeaders.AUTHORIZATION, expired))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void apiRoutesAreNotShadowedByTheFrontendRoutes() throws Exception {
+        mockMvc.perform(get("/api/v1/posts/drafts"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/contact"))
+                .andExpect(status().isUnauthorized());
+
+        String reader = "Bearer " + authenticationService.generateTokens(
+                BlogUserDetails.fromClaims(UUID.randomUUID(), "reader@blog.com", "Reader", false)).getToken();
+        mockMvc.perform(post("/api/v1/posts").header(HttpHeaders.AUTHORIZATION, reader)
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/bookings/upcoming").header(HttpHeaders.AUTHORIZATION, reader))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void publicRoutesNeedNoToken() throws Exception {
+        mockMvc.perform(get("/api/v1/posts"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/categories"))
+                .andExpect(status().isOk());
+    }
+
+    private String expiredToken() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(Map.of("uid", UUID.randomUUID().toString(), "name", "Admin", "roles", List.of("USER", "ADMIN"),
+                        "sid", UUID.randomUUID().toString()))
+                .setId(UUID.randomUUID().toString())
+                .setSubject("admin@blog.com")
+                .setIssuedAt(new Date(now - 3_600_000))
+                .setExpiration(new Date(now - 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
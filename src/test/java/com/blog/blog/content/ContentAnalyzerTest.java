@@ -0,0 +1,48 @@
+package com.blog.blog.content;
+
+import com.blog.blog.domain.PostHeading;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentAnalyzerTest {
+
+    @Test
+    void countsWordsOfTheTextNotTheMarkup() {
+        ContentAnalysis analysis = ContentAnalyzer.analyze(
+                "<h2>Why oats</h2><p>Oats are <strong>cheap</strong>&nbsp;and <em>fill</em>ing.</p><p>Eat&amp;enjoy</p>");
+
+        assertThat(analysis.wordCount()).isEqualTo(8); // Why oats Oats are cheap and filling. Eat&enjoy
+        assertThat(analysis.readingTime()).isEqualTo(1);
+        assertThat(analysis.excerpt()).isEqualTo("Why oats Oats are cheap and filling. Eat&enjoy");
+    }
+
+    @Test
+    void collectsHeadingsWithUniqueAnchors() {
+        ContentAnalysis analysis = ContentAnalyzer.analyze(
+                "<h1>Mic dejun</h1><p>text</p><h2 id=\"x\">Rețete <em>rapide</em></h2><h2>Mic dejun</h2><h3>   </h3>");
+
+        assertThat(analysis.toc()).containsExactly(
+                new PostHeading(1, "Mic dejun", "mic-dejun"),
+                new PostHeading(2, "Rețete rapide", "rețete-rapide"),
+                new PostHeading(2, "Mic dejun", "mic-dejun-2"));
+    }
+
+    @Test
+    void cutsLongExcerptsAtAWordBoundary() {
+        ContentAnalysis analysis = ContentAnalyzer.analyze("<p>" + "nutrition ".repeat(100) + "</p>");
+
+        assertThat(analysis.wordCount()).isEqualTo(100);
+        assertThat(analysis.readingTime()).isEqualTo(1);
+        assertThat(analysis.excerpt()).endsWith("nutrition...").hasSizeLessThanOrEqualTo(303);
+    }
+
+    @Test
+    void handlesEmptyAndMalformedContent() {
+        assertThat(ContentAnalyzer.analyze(null)).isEqualTo(ContentAnalysis.EMPTY);
+        assertThat(ContentAnalyzer.analyze("<p>a < b &unknown; c</p><!-- note --><p")).satisfies(analysis -> {
+            assertThat(analysis.wordCount()).isEqualTo(6);
+            assertThat(analysis.excerpt()).isEqualTo("a < b &unknown; c <p");
+        });
+    }
+}
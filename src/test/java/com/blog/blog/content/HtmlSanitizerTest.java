@@ -0,0 +1,32 @@
+package com.blog.blog.content;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HtmlSanitizerTest {
+
+    @Test
+    void keepsEditorMarkupAndText() {
+        String html = "<h2>Mic dejun</h2><p>Ovăz cu <strong>banane</strong> &amp; <em>miere</em></p><ol start=\"3\"><li><p>unu</p></li></ol>";
+
+        assertThat(HtmlSanitizer.sanitize(html)).isEqualTo(html);
+    }
+
+    @Test
+    void dropsScriptsHandlersAndUnknownTags() {
+        String html = "<p onclick=\"steal()\">hi<script>alert(1)</script><img src=x onerror=alert(1)></p><a href=\"javascript:x\">link</a><iframe src=\"//evil\"></iframe>";
+
+        assertThat(HtmlSanitizer.sanitize(html)).isEqualTo("<p>hi</p>link");
+    }
+
+    @Test
+    void hashIsStableLowercaseHex() {
+        String hash = ContentHash.of("<p>hi</p>");
+
+        assertThat(hash).isEqualTo(ContentHash.of("<p>hi</p>")).hasSize(ContentHash.LENGTH);
+        assertThat(ContentHash.isValid(hash)).isTrue();
+        assertThat(ContentHash.isValid(hash.toUpperCase())).isFalse();
+        assertThat(ContentHash.isValid("../etc/passwd")).isFalse();
+    }
+}
@@ -0,0 +1,114 @@
+package com.blog.blog.controllers;
+
+import com.blog.blog.domain.entities.User;
+import com.blog.blog.repositories.UserRepository;
+import com.blog.blog.security.AuthenticationService;
+import com.blog.blog.security.BlogUserDetails;
+import com.blog.blog.security.BlogUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private BlogUserDetailsService userDetailsService;
+
+    @Test
+    void profileIsAnsweredFromTheTokenWithoutLoadingTheUser() throws Exception {
+        // the user is not in the database at all, so any lookup would fail the request too
+        UUID id = UUID.randomUUID();
+        String token = authenticationService.generateTokens(BlogUserDetails.fromClaims(id, "reader@blog.com", "Reader", true)).getToken();
+        clearInvocations(userRepository);
+
+        mockMvc.perform(get("/api/v1/auth/profile").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andExpect(jsonPath("$.name").value("Reader"))
+                .andExpect(jsonPath("$.email").value("reader@blog.com"))
+                .andExpect(jsonPath("$.isAdmin").value(true));
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void profileNeedsAToken() throws Exception {
+        mockMvc.perform(get("/api/v1/auth/profile"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void aLoginWithAWeakBcryptHashRehashesIt() throws Exception {
+        // cost 4 is below the lowest cost the encoder ever picks
+        User user = saveUser("{bcrypt}" + new BCryptPasswordEncoder(4).encode("correct horse"));
+
+        login(user.getEmail(), "correct horse");
+
+        verify(userDetailsService).updatePassword(any(), anyString());
+        String rehashed = userRepository.findByEmail(user.getEmail()).orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("{bcrypt}$2a$").doesNotContain("$04$");
+
+        clearInvocations(userDetailsService);
+        login(user.getEmail(), "correct horse");
+        verify(userDetailsService, never()).updatePassword(any(), anyString());
+        userRepository.delete(user);
+    }
+
+    @Test
+    void hashesUnderOtherEncoderIdsStillMatchAndAreMovedToBcrypt() throws Exception {
+        User user = saveUser("{noop}correct horse");
+
+        login(user.getEmail(), "correct horse");
+
+        verify(userDetailsService).updatePassword(any(), anyString());
+        assertThat(userRepository.findByEmail(user.getEmail()).orElseThrow().getPassword()).startsWith("{bcrypt}");
+        userRepository.delete(user);
+    }
+
+    private User saveUser(String passwordHash) {
+        return userRepository.save(User.builder()
+                .name("Reader")
+                .email(UUID.randomUUID() + "@blog.com")
+                .password(passwordHash)
+                .build());
+    }
+
+    private void login(String email, String password) throws Exception {
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty());
+    }
+}
@@ -0,0 +1,146 @@
+package com.blog.blog.controllers;
+
+import com.blog.blog.domain.CreatePostRequest;
+import com.blog.blog.domain.PostStatus;
+import com.blog.blog.domain.UpdatePostRequest;
+import com.blog.blog.domain.entities.Category;
+import com.blog.blog.domain.entities.Post;
+import com.blog.blog.domain.entities.User;
+import com.blog.blog.repositories.CategoryRepository;
+import com.blog.blog.repositories.UserRepository;
+import com.blog.blog.services.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// validators only move once a write commits, so the posts here are committed and removed after each test
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User author;
+    private Category category;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(User.builder().name("author").email(UUID.randomUUID() + "@blog.com").password("x").build());
+        category = categoryRepository.save(Category.builder().name("category-" + UUID.randomUUID()).build());
+        post = postService.createPost(author, CreatePostRequest.builder()
+                .title("Cached post")
+                .content("<p>First version</p>")
+                .categoryId(category.getId())
+                .status(PostStatus.PUBLISHED)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        postService.deletePost(post.getId());
+        categoryRepository.deleteById(category.getId());
+        userRepository.deleteById(author.getId());
+    }
+
+    @Test
+    void aPostIsNotResentWhileItsValidatorsMatch() throws Exception {
+        MvcResult first = mockMvc.perform(postRequest()).andExpect(status().isOk()).andReturn();
+
+        mockMvc.perform(postRequest().header(HttpHeaders.IF_NONE_MATCH, etag(first)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andExpect(header().string(HttpHeaders.ETAG, etag(first)));
+        mockMvc.perform(postRequest().header(HttpHeaders.IF_MODIFIED_SINCE, lastModified(first)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void anEditedPostIsResent() throws Exception {
+        MvcResult first = mockMvc.perform(postRequest()).andExpect(status().isOk()).andReturn();
+
+        edit();
+
+        mockMvc.perform(postRequest().header(HttpHeaders.IF_NONE_MATCH, etag(first)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Second version")));
+        mockMvc.perform(postRequest().header(HttpHeaders.IF_MODIFIED_SINCE, lastModified(first)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void aListingIsNotResentWhileItsValidatorsMatch() throws Exception {
+        MvcResult first = mockMvc.perform(listingRequest()).andExpect(status().isOk()).andReturn();
+
+        mockMvc.perform(listingRequest().header(HttpHeaders.IF_NONE_MATCH, etag(first)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(listingRequest().header(HttpHeaders.IF_MODIFIED_SINCE, lastModified(first)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void aListingIsResentOnceAPostInItIsEdited() throws Exception {
+        MvcResult first = mockMvc.perform(listingRequest()).andExpect(status().isOk()).andReturn();
+
+        edit();
+
+        mockMvc.perform(listingRequest().header(HttpHeaders.IF_NONE_MATCH, etag(first)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Second version")));
+        mockMvc.perform(listingRequest().header(HttpHeaders.IF_MODIFIED_SINCE, lastModified(first)))
+                .andExpect(status().isOk());
+    }
+
+    // http dates count whole seconds, so the edit waits for the next one to be told apart by If-Modified-Since too
+    private void edit() throws InterruptedException {
+        Thread.sleep(1_100);
+        UpdatePostRequest update = new UpdatePostRequest();
+        update.setTitle("Cached post");
+        update.setContent("<p>Second version</p>");
+        update.setCategoryId(category.getId());
+        update.setStatus(PostStatus.PUBLISHED);
+        postService.updatePost(post.getId(), update);
+    }
+
+    private MockHttpServletRequestBuilder postRequest() {
+        return get("/api/v1/posts/{id}", post.getId());
+    }
+
+    private MockHttpServletRequestBuilder listingRequest() {
+        return get("/api/v1/posts").param("categoryId", category.getId().toString());
+    }
+
+    private static String etag(MvcResult result) {
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static String lastModified(MvcResult result) {
+        return result.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+    }
+}
@@ -0,0 +1,129 @@
+package com.blog.blog.controllers;
+
+import com.blog.blog.domain.entities.Booking;
+import com.blog.blog.repositories.BookingRepository;
+import com.blog.blog.security.AuthenticationService;
+import com.blog.blog.security.BlogUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the export is read on another thread, so the bookings are committed here and removed after each test
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportControllerTest {
+
+    // a window no other test books into
+    private static final LocalDateTime FROM = LocalDateTime.of(2041, 3, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll(bookings);
+    }
+
+    @Test
+    void bookingsAreStreamedAsCsvWithTheExportTimeout() throws Exception {
+        book("Ana", "+40 712 345 678", FROM.plusHours(9));
+        book("=HYPERLINK(\"http://evil\")", "-", FROM.plusHours(10));
+
+        MvcResult started = mockMvc.perform(exportBookings().param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(600_000);
+
+        String csv = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.csv\""))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(csv.split("\r\n"))
+                .hasSize(3)
+                .satisfies(lines -> assertThat(lines[0]).isEqualTo("id,dateTime,service,confirmed,name,email,phone,message,createdAt"))
+                .satisfies(lines -> assertThat(lines[1]).contains(",Ana,ana@blog.com,+40 712 345 678,"))
+                .satisfies(lines -> assertThat(lines[2]).contains(",\"'=HYPERLINK(\"\"http://evil\"\")\",ana@blog.com,'-,"));
+    }
+
+    @Test
+    void bookingsAreStreamedAsNdjson() throws Exception {
+        book("Ana", "+40 712 345 678", FROM.plusHours(9));
+
+        MvcResult started = mockMvc.perform(exportBookings())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.ndjson\""))
+                .andExpect(content().string(containsString("\"phone\":\"+40 712 345 678\"")));
+    }
+
+    @Test
+    void anUnknownFormatOrAnEmptyRangeIsRejected() throws Exception {
+        mockMvc.perform(exportBookings().param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(export("/api/v1/admin/exports/bookings").param("from", TO.toString()).param("to", FROM.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportsAreForAdminsOnly() throws Exception {
+        String reader = authenticationService.generateTokens(
+                BlogUserDetails.fromClaims(UUID.randomUUID(), "reader@blog.com", "Reader", false)).getToken();
+
+        mockMvc.perform(get("/api/v1/admin/exports/posts").header(HttpHeaders.AUTHORIZATION, "Bearer " + reader))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/admin/exports/posts"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MockHttpServletRequestBuilder export(String path) {
+        String admin = authenticationService.generateTokens(
+                BlogUserDetails.fromClaims(UUID.randomUUID(), "admin@blog.com", "Admin", true)).getToken();
+        return get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + admin);
+    }
+
+    private MockHttpServletRequestBuilder exportBookings() {
+        return export("/api/v1/admin/exports/bookings").param("from", FROM.toString()).param("to", TO.toString());
+    }
+
+    private void book(String name, String phone, LocalDateTime dateTime) {
+        bookings.add(bookingRepository.save(Booking.builder()
+                .name(name)
+                .email("ana@blog.com")
+                .phone(phone)
+                .service("consultation")
+                .dateTime(dateTime)
+                .build()));
+    }
+}
@@ -0,0 +1,237 @@
+package com.blog.blog.controllers;
+
+import com.blog.blog.content.ContentHash;
+import com.blog.blog.domain.CreatePostRequest;
+import com.blog.blog.domain.PostStatus;
+import com.blog.blog.domain.entities.Category;
+import com.blog.blog.domain.entities.Post;
+import com.blog.blog.domain.entities.Tag;
+import com.blog.blog.domain.entities.User;
+import com.blog.blog.services.PostService;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// requests run on the test thread, so every post written here is rolled back with the test. listings are filtered by
+// the category made for each test, so cached pages of other tests never answer them
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class PostControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User author;
+    private Category category;
+    private Tag tag;
+
+    @BeforeEach
+    void setUp() {
+        author = User.builder().name("author").email(UUID.randomUUID() + "@blog.com").password("x").build();
+        entityManager.persist(author);
+        category = Category.builder().name("category-" + UUID.randomUUID()).build();
+        entityManager.persist(category);
+        tag = Tag.builder().name("tag-" + UUID.randomUUID()).build();
+        entityManager.persist(tag);
+    }
+
+    @Test
+    void publishedContentIsServedByItsHashForGood() throws Exception {
+        Post post = create("<p>Published body</p>", PostStatus.PUBLISHED);
+
+        mockMvc.perform(get("/api/v1/posts/content/{hash}", post.getContentHash()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("<p>Published body</p>"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(header().string("Content-Security-Policy", containsString("sandbox")));
+    }
+
+    @Test
+    void draftContentIsNotServedByItsHash() throws Exception {
+        Post draft = create("<p>Draft body</p>", PostStatus.DRAFT);
+
+        mockMvc.perform(get("/api/v1/posts/content/{hash}", draft.getContentHash()))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, not(containsString("public"))));
+    }
+
+    @Test
+    void unknownAndMalformedHashesAreRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/posts/content/{hash}", ContentHash.of("<p>never stored</p>")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/posts/content/{hash}", "not-a-hash"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/posts/content/{hash}", ContentHash.of("x").toUpperCase()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void legacyPostsAreSanitizedWhenRead() throws Exception {
+        // written before content was sanitized on the server: raw html and no hash
+        Post legacy = Post.builder()
+                .title("Legacy post")
+                .content("<p onclick=\"steal()\">Old body<script>alert(1)</script></p>")
+                .status(PostStatus.PUBLISHED)
+                .readingTime(1)
+                .author(author)
+                .category(category)
+                .build();
+        entityManager.persist(legacy);
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/v1/posts/{id}", legacy.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("<p>Old body</p>"));
+    }
+
+    @Test
+    void offsetPagesWalkThePublishedPostsNewestFirst() throws Exception {
+        importPosts();
+
+        mockMvc.perform(get("/api/v1/posts").param("categoryId", category.getId().toString()).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Post 5", "Post 4")))
+                .andExpect(header().exists(PostController.NEXT_CURSOR_HEADER));
+        mockMvc.perform(get("/api/v1/posts").param("categoryId", category.getId().toString()).param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Post 3", "Post 2")));
+        mockMvc.perform(get("/api/v1/posts").param("categoryId", category.getId().toString()).param("page", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Post 1")))
+                .andExpect(header().doesNotExist(PostController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void cursorsWalkThePublishedPostsNewestFirst() throws Exception {
+        importPosts();
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/v1/posts").param("categoryId", category.getId().toString()).param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult page = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            titles.addAll(JsonPath.read(page.getResponse().getContentAsString(), "$[*].title"));
+            cursor = page.getResponse().getHeader(PostController.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertThat(titles).containsExactly("Post 5", "Post 4", "Post 3", "Post 2", "Post 1");
+    }
+
+    @Test
+    void summariesCarryNamesButNoContent() throws Exception {
+        importPosts();
+
+        mockMvc.perform(get("/api/v1/posts").param("view", "summary").param("categoryId", category.getId().toString()).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Post 5", "Post 4")))
+                .andExpect(jsonPath("$[0].content").doesNotExist())
+                .andExpect(jsonPath("$[0].excerpt").value("Post 5 body"))
+                .andExpect(jsonPath("$[0].authorName").value("author"))
+                .andExpect(jsonPath("$[0].categoryName").value(category.getName()))
+                .andExpect(jsonPath("$[0].tagNames", contains(tag.getName())))
+                .andExpect(header().exists(PostController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void summariesPageLikeTheFullListing() throws Exception {
+        importPosts();
+
+        mockMvc.perform(get("/api/v1/posts").param("view", "summary").param("categoryId", category.getId().toString())
+                        .param("page", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Post 1")))
+                .andExpect(header().doesNotExist(PostController.NEXT_CURSOR_HEADER));
+
+        String cursor = mockMvc.perform(get("/api/v1/posts").param("view", "summary").param("categoryId", category.getId().toString())
+                        .param("size", "2"))
+                .andReturn().getResponse().getHeader(PostController.NEXT_CURSOR_HEADER);
+        mockMvc.perform(get("/api/v1/posts").param("view", "summary").param("categoryId", category.getId().toString())
+                        .param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Post 3", "Post 2")));
+    }
+
+    @Test
+    void badPagingParametersAreRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/posts").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/posts").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/posts").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // five published posts a day apart, oldest first, and a draft in between that no listing shows
+    private void importPosts() {
+        LocalDateTime first = LocalDateTime.now().minusDays(10);
+        List<CreatePostRequest> requests = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            requests.add(request("Post " + i, PostStatus.PUBLISHED, first.plusDays(i)));
+            if (i == 3) {
+                requests.add(request("Draft", PostStatus.DRAFT, first.plusDays(i).plusHours(1)));
+            }
+        }
+        postService.importPosts(author, requests);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private CreatePostRequest request(String title, PostStatus status, LocalDateTime createdAt) {
+        return CreatePostRequest.builder()
+                .title(title)
+                .content("<p>" + title + " body</p>")
+                .categoryId(category.getId())
+                .status(status)
+                .createdAt(createdAt)
+                .tagIds(Set.of(tag.getId()))
+                .build();
+    }
+
+    private Post create(String content, PostStatus status) {
+        Post post = postService.createPost(author, CreatePostRequest.builder()
+                .title("A post")
+                .content(content)
+                .categoryId(category.getId())
+                .status(status)
+                .build());
+        entityManager.flush();
+        return post;
+    }
+}
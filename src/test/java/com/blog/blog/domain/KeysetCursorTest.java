@@ -0,0 +1,34 @@
+package com.blog.blog.domain;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class KeysetCursorTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000);
+    private static final UUID ID = UUID.randomUUID();
+
+    @Test
+    void decodesToTheKeysItsListingIsOrderedBy() {
+        KeysetScrollPosition posts = KeysetCursor.POSTS.decode(KeysetCursor.POSTS.encode(TIMESTAMP, ID));
+        KeysetScrollPosition bookings = KeysetCursor.BOOKINGS.decode(KeysetCursor.BOOKINGS.encode(TIMESTAMP, ID));
+
+        assertThat(posts.getKeys()).containsExactly(entry("createdAt", TIMESTAMP), entry("id", ID));
+        assertThat(bookings.getKeys()).containsExactly(entry("dateTime", TIMESTAMP), entry("id", ID));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatThrownBy(() -> KeysetCursor.POSTS.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.BOOKINGS.decode("!!"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
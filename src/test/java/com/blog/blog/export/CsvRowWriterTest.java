@@ -0,0 +1,46 @@
+package com.blog.blog.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRowWriterTest {
+
+    private static final List<Column<List<String>>> COLUMNS = List.of(
+            new Column<>("name", row -> row.get(0)),
+            new Column<>("phone", row -> row.get(1)));
+
+    @Test
+    void phoneNumbersAndNumbersAreWrittenAsIs() throws IOException {
+        assertThat(csv(List.of("Ana", "+40 712 345 678"), List.of("Ion", "-(0)21.555-1234")))
+                .isEqualTo("name,phone\r\nAna,+40 712 345 678\r\nIon,-(0)21.555-1234\r\n");
+    }
+
+    @Test
+    void formulasAreQuoted() throws IOException {
+        assertThat(csv(List.of("=HYPERLINK(\"http://evil\")", "+1+cmd|' /C calc'!A0"), List.of("@SUM(A1)", "-"), List.of("\tx", "+")))
+                .isEqualTo("name,phone\r\n\"'=HYPERLINK(\"\"http://evil\"\")\",'+1+cmd|' /C calc'!A0\r\n'@SUM(A1),'-\r\n'\tx,'+\r\n");
+    }
+
+    @Test
+    void cellsWithSeparatorsOrLineBreaksAreQuoted() throws IOException {
+        assertThat(csv(List.of("Doe, Jane", "line\nbreak")))
+                .isEqualTo("name,phone\r\n\"Doe, Jane\",\"line\nbreak\"\r\n");
+    }
+
+    @SafeVarargs
+    private static String csv(List<String>... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvRowWriter<List<String>> writer = new CsvRowWriter<>(out, COLUMNS)) {
+            for (List<String> row : rows) {
+                writer.write(row);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,87 @@
+package com.blog.blog.facets;
+
+import com.blog.blog.domain.TagMatch;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetIndexTest {
+
+    private final UUID food = UUID.randomUUID();
+    private final UUID travel = UUID.randomUUID();
+    private final UUID vegan = UUID.randomUUID();
+    private final UUID quick = UUID.randomUUID();
+    private final UUID author = UUID.randomUUID();
+    private final LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final FacetIndex index = new FacetIndex();
+    private final UUID veganQuick = post(food, List.of(vegan, quick), 1);
+    private final UUID veganOnly = post(food, List.of(vegan), 2);
+    private final UUID quickTravel = post(travel, List.of(quick), 3);
+
+    @Test
+    void tagsCombineWithAllOrAnyAndCountFacets() {
+        FacetIndex.Result all = index.query(filter(List.of(vegan, quick), TagMatch.ALL, List.of()), null, 10);
+        assertThat(ids(all)).containsExactly(veganQuick);
+        assertThat(all.tagCounts()).containsEntry(vegan, 1).containsEntry(quick, 1);
+
+        FacetIndex.Result any = index.query(filter(List.of(vegan, quick), TagMatch.ANY, List.of(food)), null, 10);
+        assertThat(ids(any)).containsExactly(veganOnly, veganQuick);
+        assertThat(any.categoryCounts()).containsEntry(food, 2).containsEntry(travel, 1);
+        assertThat(any.tagCounts()).containsEntry(vegan, 2).containsEntry(quick, 1);
+    }
+
+    @Test
+    void pagesNewestFirstWithACursor() {
+        FacetIndex.Result first = index.query(filter(List.of(), TagMatch.ALL, List.of()), null, 2);
+        assertThat(ids(first)).containsExactly(quickTravel, veganOnly);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.total()).isEqualTo(3);
+
+        FacetIndex.Result second = index.query(filter(List.of(), TagMatch.ALL, List.of()), first.posts().get(1), 2);
+        assertThat(ids(second)).containsExactly(veganQuick);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void lateOlderPostKeepsPagesRightUntilRebuilt() {
+        assertThat(index.needsRebuild()).isFalse();
+        UUID imported = post(travel, List.of(quick), 0);
+        assertThat(index.needsRebuild()).isTrue();
+
+        FacetIndex.Result first = index.query(filter(List.of(quick), TagMatch.ALL, List.of()), null, 2);
+        assertThat(ids(first)).containsExactly(quickTravel, veganQuick);
+        FacetIndex.Result second = index.query(filter(List.of(quick), TagMatch.ALL, List.of()), first.posts().get(1), 2);
+        assertThat(ids(second)).containsExactly(imported);
+    }
+
+    @Test
+    void updatesAndRemovalsMoveBits() {
+        index.put(veganOnly, travel, author, List.of(quick), now.plusMinutes(2));
+        index.remove(quickTravel);
+
+        FacetIndex.Result quickPosts = index.query(filter(List.of(quick), TagMatch.ALL, List.of()), null, 10);
+        assertThat(ids(quickPosts)).containsExactly(veganOnly, veganQuick);
+        assertThat(quickPosts.categoryCounts()).containsEntry(food, 1).containsEntry(travel, 1);
+        assertThat(index.query(filter(List.of(vegan), TagMatch.ALL, List.of()), null, 10).total()).isEqualTo(1);
+        assertThat(index.query(filter(List.of(UUID.randomUUID()), TagMatch.ALL, List.of()), null, 10).total()).isZero();
+    }
+
+    private UUID post(UUID category, List<UUID> tags, int minutes) {
+        UUID id = UUID.randomUUID();
+        index.put(id, category, author, tags, now.plusMinutes(minutes));
+        return id;
+    }
+
+    private FacetIndex.Filter filter(List<UUID> tags, TagMatch match, List<UUID> categories) {
+        return new FacetIndex.Filter(tags, match, categories, List.of(author));
+    }
+
+    private static List<UUID> ids(FacetIndex.Result result) {
+        return result.posts().stream().map(FacetIndex.Key::id).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.blog.blog.ids;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    private static final long NOW = 1_767_225_600_000L; // 2026-01-01T00:00:00Z
+
+    private final UuidV7 generator = new UuidV7();
+
+    @Test
+    void carriesVersionVariantAndTimestamp() {
+        UUID id = generator.next(NOW);
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestampMillis(id)).isEqualTo(NOW);
+    }
+
+    @Test
+    void sortsInCreationOrderWithinOneMillisecond() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) { // more than the 4096 the counter holds
+            ids.add(generator.next(NOW));
+        }
+        // the string form compares like the bytes, and so does postgres
+        assertThat(ids).extracting(UUID::toString).isSorted();
+        assertThat(UuidV7.timestampMillis(ids.get(0))).isEqualTo(NOW);
+        assertThat(UuidV7.timestampMillis(ids.get(ids.size() - 1))).isEqualTo(NOW + 2); // ran ahead of the clock
+    }
+
+    @Test
+    void neverGoesBackwardsWhenTheClockDoes() {
+        UUID before = generator.next(NOW);
+        UUID after = generator.next(NOW - 1_000);
+
+        assertThat(after.toString()).isGreaterThan(before.toString());
+        assertThat(UuidV7.timestampMillis(after)).isEqualTo(NOW);
+    }
+
+    @Test
+    void uniqueAcrossThreads() throws Exception {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 25_000; i++) {
+                        ids.add(generator.next(NOW));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(ids).hasSize(100_000);
+    }
+}
@@ -0,0 +1,61 @@
+package com.blog.blog.related;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagSimilarityIndexTest {
+
+    private final UUID food = UUID.randomUUID();
+    private final UUID travel = UUID.randomUUID();
+    private final UUID common = UUID.randomUUID();
+    private final UUID vegan = UUID.randomUUID();
+    private final UUID baking = UUID.randomUUID();
+
+    @Test
+    void sharedRareTagsAndCategoryRankHigher() {
+        TagSimilarityIndex index = new TagSimilarityIndex();
+        UUID post = UUID.randomUUID();
+        UUID sameNiche = UUID.randomUUID();
+        UUID onlyCommon = UUID.randomUUID();
+        UUID unrelated = UUID.randomUUID();
+        index.put(post, food, List.of(common, vegan), 1);
+        index.put(sameNiche, travel, List.of(vegan), 2);
+        index.put(onlyCommon, travel, List.of(common), 3);
+        index.put(unrelated, travel, List.of(baking), 4);
+        for (int i = 0; i < 5; i++) {
+            index.put(UUID.randomUUID(), travel, List.of(common), 10 + i);
+        }
+
+        List<UUID> related = index.related(post, 3);
+        assertThat(related).hasSize(3).first().isEqualTo(sameNiche);
+        assertThat(related).doesNotContain(post, unrelated);
+    }
+
+    @Test
+    void updatesAndRemovalsAreReflected() {
+        TagSimilarityIndex index = new TagSimilarityIndex();
+        UUID post = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        index.put(post, food, List.of(vegan), 1);
+        index.put(other, travel, List.of(baking), 2);
+        assertThat(index.related(post, 5)).isEmpty();
+
+        index.put(other, travel, List.of(vegan), 2);
+        assertThat(index.related(post, 5)).containsExactly(other);
+
+        index.remove(other);
+        assertThat(index.related(post, 5)).isEmpty();
+        index.put(UUID.randomUUID(), food, List.of(), 3); // takes the freed ordinal
+        assertThat(index.related(post, 5)).hasSize(1);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownPostHasNoRelatedPosts() {
+        assertThat(new TagSimilarityIndex().related(UUID.randomUUID(), 5)).isEmpty();
+    }
+}
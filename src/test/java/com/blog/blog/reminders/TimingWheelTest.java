@@ -0,0 +1,47 @@
+package com.blog.blog.reminders;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1_000;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, 2, 0);
+
+    @Test
+    void releasesItemsOnTheirTickInDueOrder() {
+        wheel.schedule("b", 2_500);
+        wheel.schedule("a", 2_100);
+        wheel.schedule("c", 3_000);
+
+        assertThat(wheel.advance(1_999)).isEmpty();
+        assertThat(wheel.advance(2_000)).containsExactly("a", "b");
+        assertThat(wheel.advance(5_000)).containsExactly("c");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cascadesFromHigherLevelsAndTheOverflow() {
+        wheel.schedule("level1", 9_000); // 4 to 15 ticks ahead sit on level 1
+        wheel.schedule("overflow", 40_000); // beyond 16 ticks
+        wheel.schedule("late", 0); // already due
+
+        assertThat(wheel.advance(0)).containsExactly("late");
+        assertThat(wheel.advance(8_999)).isEmpty();
+        assertThat(wheel.advance(9_000)).containsExactly("level1");
+        assertThat(wheel.advance(39_999)).isEmpty();
+        assertThat(wheel.advance(40_000)).containsExactly("overflow");
+    }
+
+    @Test
+    void catchesUpEverythingMissedInOneAdvance() {
+        for (int i = 0; i < 50; i++) {
+            wheel.schedule("r" + i, 1_000L + i * 700);
+        }
+
+        assertThat(wheel.advance(100_000)).hasSize(50).startsWith("r0", "r1").endsWith("r49");
+        assertThat(wheel.size()).isZero();
+    }
+}
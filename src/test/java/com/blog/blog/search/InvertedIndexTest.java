@@ -0,0 +1,69 @@
+package com.blog.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private final UUID salad = UUID.randomUUID();
+    private final UUID soup = UUID.randomUUID();
+    private final UUID smoothie = UUID.randomUUID();
+
+    @Test
+    void ranksTitleMatchesAboveContentMatchesAndIgnoresMarkup() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(salad, TextAnalyzer.analyze("Summer salad", "<p>Fresh <strong>spinach</strong> and tomato</p>"));
+        index.put(soup, TextAnalyzer.analyze("Lentil soup", "<p>Goes well with a side salad</p>"));
+        index.put(smoothie, TextAnalyzer.analyze("Green smoothie", "<p>Spinach&nbsp;banana</p>"));
+
+        assertThat(ids(index.search(TextAnalyzer.tokenize("salad"), 10))).containsExactly(salad, soup);
+        assertThat(ids(index.search(TextAnalyzer.tokenize("SPINACH"), 10))).containsExactlyInAnyOrder(salad, smoothie);
+        assertThat(index.search(TextAnalyzer.tokenize("strong"), 10)).isEmpty();
+        assertThat(ids(index.search(TextAnalyzer.tokenize("banana"), 10))).containsExactly(smoothie);
+    }
+
+    @Test
+    void foldsAccents() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(soup, TextAnalyzer.analyze("Ciorbă de legume", "<p>mâncare sănătoasă</p>"));
+
+        assertThat(ids(index.search(TextAnalyzer.tokenize("ciorba mancare"), 10))).containsExactly(soup);
+    }
+
+    @Test
+    void reindexedAndRemovedPostsDropOldTerms() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(salad, TextAnalyzer.analyze("Summer salad", "<p>tomato</p>"));
+        index.put(soup, TextAnalyzer.analyze("Lentil soup", "<p>tomato</p>"));
+
+        index.put(salad, TextAnalyzer.analyze("Winter salad", "<p>kale</p>"));
+        index.remove(soup);
+
+        assertThat(index.search(TextAnalyzer.tokenize("tomato"), 10)).isEmpty();
+        assertThat(ids(index.search(TextAnalyzer.tokenize("kale"), 10))).containsExactly(salad);
+        assertThat(index.liveCount()).isEqualTo(1);
+        assertThat(index.retiredCount()).isEqualTo(2);
+    }
+
+    @Test
+    void returnsOnlyTheBestHits() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 1; i <= 20; i++) {
+            index.put(UUID.randomUUID(), TextAnalyzer.analyze("post " + i, "<p>" + "oats ".repeat(i) + "filler ".repeat(40) + "</p>"));
+        }
+
+        List<InvertedIndex.SearchHit> hits = index.search(List.of("oats"), 3);
+
+        assertThat(hits).hasSize(3);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        assertThat(hits.get(1).score()).isGreaterThan(hits.get(2).score());
+    }
+
+    private List<UUID> ids(List<InvertedIndex.SearchHit> hits) {
+        return hits.stream().map(InvertedIndex.SearchHit::id).toList();
+    }
+}
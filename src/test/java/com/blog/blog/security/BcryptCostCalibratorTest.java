@@ -0,0 +1,39 @@
+package com.blog.blog.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BcryptCostCalibratorTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void doublesTheWorkWhileItFitsTheBudget() {
+        // 50ms at cost 10: 100ms at 11, 200ms at 12, 400ms at 13
+        assertThat(BcryptCostCalibrator.costFor(Duration.ofMillis(250), 10, 50 * MS, 16)).isEqualTo(12);
+        assertThat(BcryptCostCalibrator.costFor(Duration.ofMillis(400), 10, 50 * MS, 16)).isEqualTo(13);
+    }
+
+    @Test
+    void staysWithinTheAllowedCosts() {
+        assertThat(BcryptCostCalibrator.costFor(Duration.ofMillis(10), 10, 50 * MS, 16)).isEqualTo(10);
+        assertThat(BcryptCostCalibrator.costFor(Duration.ofSeconds(60), 10, 50 * MS, 16)).isEqualTo(16);
+    }
+
+    @Test
+    void theCalibratedEncoderHashesAtTheCostItPicked() {
+        // a budget no hash fits keeps the lowest cost
+        CalibratedBcryptPasswordEncoder encoder = new CalibratedBcryptPasswordEncoder(Duration.ZERO, 5, 8);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(hash).startsWith("$2a$05$");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+}
@@ -0,0 +1,58 @@
+package com.blog.blog.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+
+    private final TokenDenylist denylist = new TokenDenylist(64);
+
+    @Test
+    void revokedUntilExpiry() {
+        UUID id = UUID.randomUUID();
+        assertThat(denylist.revoke(id, 1_000)).isTrue();
+        assertThat(denylist.revoke(id, 1_000)).isFalse();
+
+        assertThat(denylist.isRevoked(id, 999)).isTrue();
+        assertThat(denylist.isRevoked(id, 1_000)).isFalse();
+        assertThat(denylist.isRevoked(UUID.randomUUID(), 0)).isFalse();
+        assertThat(denylist.isRevoked(null, 0)).isFalse();
+    }
+
+    @Test
+    void growsPastItsExpectedSize() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            denylist.revoke(id, Long.MAX_VALUE);
+        }
+        assertThat(ids).allMatch(id -> denylist.isRevoked(id, 0));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (denylist.isRevoked(UUID.randomUUID(), 0)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isZero();
+    }
+
+    @Test
+    void pruneDropsExpiredIds() {
+        UUID expired = UUID.randomUUID();
+        UUID live = UUID.randomUUID();
+        denylist.revoke(expired, 100);
+        denylist.revoke(live, 300);
+
+        assertThat(denylist.prune(200)).isEqualTo(1);
+        assertThat(denylist.size()).isEqualTo(1);
+        assertThat(denylist.isRevoked(live, 200)).isTrue();
+        assertThat(denylist.revoke(expired, 400)).isTrue();
+    }
+}
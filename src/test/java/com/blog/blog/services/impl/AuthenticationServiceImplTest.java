@@ -0,0 +1,134 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.dtos.AuthResponse;
+import com.blog.blog.domain.entities.RevokedToken;
+import com.blog.blog.domain.entities.User;
+import com.blog.blog.repositories.RevokedTokenRepository;
+import com.blog.blog.security.BlogUserDetails;
+import com.blog.blog.services.UserService;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceImplTest {
+
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hs256";
+
+    private final User user = User.builder().id(UUID.randomUUID()).email("reader@blog.com").name("Reader").password("x").build();
+    private final Map<UUID, LocalDateTime> table = new LinkedHashMap<>();
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private int failingInserts;
+
+    private RevokedTokenStore revokedTokenStore;
+    private AuthenticationServiceImpl authenticationService;
+
+    AuthenticationServiceImplTest() {
+        when(userService.getUserById(user.getId())).thenReturn(user);
+        when(revokedTokenRepository.insert(any(), any())).thenAnswer(invocation -> {
+            if (failingInserts > 0) {
+                failingInserts--;
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            if (table.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) != null) {
+                throw new DuplicateKeyException("revoked_tokens_pkey");
+            }
+            return 1;
+        });
+        when(revokedTokenRepository.findAllByExpiresAtAfter(any())).thenAnswer(invocation -> table.entrySet().stream()
+                .map(entry -> new RevokedToken(entry.getKey(), entry.getValue()))
+                .toList());
+        start();
+    }
+
+    @Test
+    void refreshRotatesTheRefreshToken() {
+        AuthResponse login = login();
+
+        AuthResponse first = authenticationService.refresh(login.getRefreshToken());
+        AuthResponse second = authenticationService.refresh(first.getRefreshToken());
+
+        assertThat(first.getRefreshToken()).isNotEqualTo(login.getRefreshToken());
+        assertThat(second.getRefreshToken()).isNotEqualTo(first.getRefreshToken());
+        assertThat(((BlogUserDetails) authenticationService.validateToken(second.getToken())).getId()).isEqualTo(user.getId());
+        assertThat(authenticationService.validateToken(login.getToken())).isNotNull(); // rotation alone ends no session
+    }
+
+    @Test
+    void aReplayedRefreshTokenEndsTheWholeSession() {
+        AuthResponse login = login();
+        AuthResponse rotated = authenticationService.refresh(login.getRefreshToken());
+
+        assertThatThrownBy(() -> authenticationService.refresh(login.getRefreshToken()))
+                .isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> authenticationService.refresh(rotated.getRefreshToken()))
+                .isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> authenticationService.validateToken(rotated.getToken()))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void logoutRevokesTheSessionAcrossARestart() {
+        AuthResponse login = login();
+        AuthResponse other = login();
+
+        authenticationService.logout(login.getRefreshToken());
+        start();
+
+        assertThatThrownBy(() -> authenticationService.refresh(login.getRefreshToken()))
+                .isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> authenticationService.validateToken(login.getToken()))
+                .isInstanceOf(JwtException.class);
+        assertThat(authenticationService.refresh(other.getRefreshToken())).isNotNull();
+    }
+
+    @Test
+    void aRefreshThatFailedToSaveCanBeRetried() {
+        AuthResponse login = login();
+        failingInserts = 1;
+
+        assertThatThrownBy(() -> authenticationService.refresh(login.getRefreshToken()))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        AuthResponse retried = authenticationService.refresh(login.getRefreshToken());
+
+        assertThat(authenticationService.validateToken(retried.getToken())).isNotNull();
+        assertThat(table).hasSize(1); // the used refresh token, not the session
+    }
+
+    @Test
+    void anIdRevokedByAnotherInstanceIsNotRevokedTwice() {
+        UUID id = UUID.randomUUID();
+        table.put(id, LocalDateTime.now().plusHours(1));
+
+        assertThat(revokedTokenStore.revoke(id, System.currentTimeMillis() + 3_600_000)).isFalse();
+        assertThat(revokedTokenStore.isRevoked(id)).isTrue();
+    }
+
+    private AuthResponse login() {
+        return authenticationService.generateTokens(new BlogUserDetails(user));
+    }
+
+    // a new store and service reading the same table, as after a restart
+    private void start() {
+        revokedTokenStore = new RevokedTokenStore(revokedTokenRepository, 64);
+        revokedTokenStore.load();
+        authenticationService = new AuthenticationServiceImpl(mock(AuthenticationManager.class), mock(UserDetailsService.class),
+                userService, new VerifiedTokenCache(100, Duration.ofMinutes(5)), revokedTokenStore,
+                Duration.ofMinutes(15), Duration.ofDays(14), SECRET);
+    }
+}
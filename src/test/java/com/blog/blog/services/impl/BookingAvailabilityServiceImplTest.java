@@ -0,0 +1,87 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.entities.Booking;
+import com.blog.blog.repositories.BookingRepository;
+import com.blog.blog.repositories.BookingSlotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// book() commits its own transaction, so these run outside the usual test transaction and clean up after themselves
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(BookingAvailabilityServiceImpl.class)
+class BookingAvailabilityServiceImplTest {
+
+    private static final LocalDateTime MONDAY_TEN = LocalDateTime.of(2030, 3, 4, 10, 0);
+
+    @Autowired
+    private BookingAvailabilityServiceImpl availabilityService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingSlotRepository bookingSlotRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.findAll().forEach(booking -> availabilityService.release(booking.getId()));
+        bookingSlotRepository.deleteAllInBatch();
+        bookingRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void rejectsABookingThatOverlapsAnother() {
+        availabilityService.book(booking("initial", MONDAY_TEN));
+
+        assertThatThrownBy(() -> availabilityService.book(booking("initial", MONDAY_TEN.plusMinutes(30))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("That time is already booked");
+        availabilityService.book(booking("initial", MONDAY_TEN.plusHours(1)));
+        availabilityService.book(booking("followup", MONDAY_TEN.plusMinutes(30))); // another service's calendar
+
+        assertThat(bookingRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void theSlotClaimsCatchWhatTheIndexHasNotSeen() {
+        // as if another instance had booked it: in the database, but not in this instance's index
+        Booking elsewhere = availabilityService.book(booking("initial", MONDAY_TEN));
+        availabilityService.release(elsewhere.getId());
+
+        assertThatThrownBy(() -> availabilityService.book(booking("initial", MONDAY_TEN.minusMinutes(30))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("That time is already booked");
+        assertThat(bookingRepository.count()).isEqualTo(1);
+        assertThat(availabilityService.getAvailability(MONDAY_TEN.minusHours(1), MONDAY_TEN.plusHours(1), "initial"))
+                .singleElement()
+                .satisfies(availability -> assertThat(availability.getFreeSlots()).containsExactly(MONDAY_TEN.minusHours(1), MONDAY_TEN));
+    }
+
+    @Test
+    void rejectsAnUnknownService() {
+        assertThatThrownBy(() -> availabilityService.book(booking("massage", MONDAY_TEN)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown service: massage");
+        assertThat(bookingRepository.count()).isZero();
+    }
+
+    private static Booking booking(String service, LocalDateTime dateTime) {
+        return Booking.builder()
+                .name("Client")
+                .email("client@blog.com")
+                .service(service)
+                .dateTime(dateTime)
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.BookingTime;
+import com.blog.blog.domain.entities.Booking;
+import com.blog.blog.domain.entities.ReminderWatermark;
+import com.blog.blog.reminders.BookingReminder;
+import com.blog.blog.reminders.ReminderSink;
+import com.blog.blog.repositories.BookingRepository;
+import com.blog.blog.repositories.ReminderWatermarkRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingReminderSchedulerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 9, 0);
+    private static final long MINUTE = 60_000;
+
+    private final List<Booking> bookings = new ArrayList<>();
+    private final List<LocalDateTime> watermarks = new ArrayList<>();
+    private final List<List<BookingReminder>> sent = new ArrayList<>();
+    private int failuresLeft;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ReminderWatermarkRepository watermarkRepository = mock(ReminderWatermarkRepository.class);
+    private final ReminderSink sink = reminders -> {
+        if (failuresLeft > 0) {
+            failuresLeft--;
+            throw new IllegalStateException("sink down");
+        }
+        sent.add(reminders);
+    };
+
+    BookingReminderSchedulerTest() {
+        when(bookingRepository.findAllByDateTimeGreaterThanAndDateTimeLessThanEqual(any(), any(), eq(BookingTime.class)))
+                .thenAnswer(invocation -> {
+                    LocalDateTime after = invocation.getArgument(0);
+                    LocalDateTime until = invocation.getArgument(1);
+                    return bookings.stream()
+                            .filter(b -> b.getDateTime().isAfter(after) && !b.getDateTime().isAfter(until))
+                            .map(BookingReminderSchedulerTest::time)
+                            .toList();
+                });
+        when(bookingRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return bookings.stream().filter(b -> ids.contains(b.getId())).toList();
+        });
+        when(watermarkRepository.findById(anyString())).thenAnswer(invocation -> watermarks.isEmpty()
+                ? Optional.empty()
+                : Optional.of(new ReminderWatermark("booking-reminders", watermarks.get(watermarks.size() - 1))));
+        when(watermarkRepository.save(any())).thenAnswer(invocation -> {
+            ReminderWatermark watermark = invocation.getArgument(0);
+            watermarks.add(watermark.getRemindedUntil());
+            return watermark;
+        });
+    }
+
+    @Test
+    void resumesAfterTheWatermarkWithoutSendingAgain() {
+        watermarks.add(START.plusHours(1)); // reminders due up to 10:00 went out before the restart
+        Booking alreadyReminded = book("a", START.plusHours(25));
+        Booking due = book("b", START.plusHours(27));
+
+        BookingReminderScheduler scheduler = scheduler(100);
+        scheduler.load(millis(START.plusHours(3)));
+        scheduler.dispatchDue(millis(START.plusHours(3)));
+
+        assertThat(sentIds()).containsExactly(due.getId());
+        assertThat(watermarks).last().isEqualTo(START.plusHours(3));
+
+        BookingReminderScheduler restarted = scheduler(100);
+        restarted.load(millis(START.plusHours(3).plusMinutes(1)));
+        restarted.dispatchDue(millis(START.plusHours(3).plusMinutes(1)));
+        assertThat(sentIds()).containsExactly(due.getId());
+        assertThat(alreadyReminded).isNotNull();
+    }
+
+    @Test
+    void watermarkWaitsForEveryReminderDueAtTheSameTime() {
+        BookingReminderScheduler scheduler = scheduler(2);
+        scheduler.load(millis(START));
+        book("a", START.plusHours(25));
+        book("b", START.plusHours(25));
+        book("c", START.plusHours(25));
+        book("d", START.plusHours(26));
+        bookings.forEach(b -> scheduler.schedule(b.getId(), b.getDateTime()));
+        int savedBefore = watermarks.size();
+
+        scheduler.dispatchDue(millis(START.plusHours(2)));
+
+        assertThat(sent).hasSize(2);
+        assertThat(watermarks.subList(savedBefore, watermarks.size())).containsExactly(START.plusHours(2));
+    }
+
+    @Test
+    void cancelledBookingsDropOut() {
+        BookingReminderScheduler scheduler = scheduler(100);
+        scheduler.load(millis(START));
+        Booking cancelled = book("a", START.plusHours(25));
+        Booking kept = book("b", START.plusHours(25));
+        bookings.forEach(b -> scheduler.schedule(b.getId(), b.getDateTime()));
+        bookings.remove(cancelled);
+
+        scheduler.dispatchDue(millis(START.plusHours(1)));
+
+        assertThat(sentIds()).containsExactly(kept.getId());
+        assertThat(watermarks).last().isEqualTo(START.plusHours(1));
+    }
+
+    @Test
+    void failedBatchIsRetriedAndHoldsTheWatermark() {
+        BookingReminderScheduler scheduler = scheduler(1);
+        scheduler.load(millis(START));
+        Booking first = book("a", START.plusHours(25));
+        Booking second = book("b", START.plusHours(26));
+        bookings.forEach(b -> scheduler.schedule(b.getId(), b.getDateTime()));
+        failuresLeft = 1;
+
+        scheduler.dispatchDue(millis(START.plusHours(2)));
+        assertThat(sentIds()).containsExactly(second.getId());
+        assertThat(watermarks).last().matches(until -> until.isBefore(START.plusHours(1))); // the failed one was due at 10:00
+
+        scheduler.dispatchDue(millis(START.plusHours(2).plusMinutes(5)));
+        assertThat(sentIds()).containsExactly(second.getId(), first.getId());
+        assertThat(watermarks).last().isEqualTo(START.plusHours(2));
+    }
+
+    private BookingReminderScheduler scheduler(int batchSize) {
+        return new BookingReminderScheduler(bookingRepository, watermarkRepository, sink, Duration.ofHours(24),
+                Duration.ofHours(6), Duration.ofMinutes(1), Duration.ofMinutes(5), batchSize);
+    }
+
+    private Booking book(String name, LocalDateTime dateTime) {
+        Booking booking = Booking.builder().id(UUID.randomUUID()).name(name).email(name + "@example.com")
+                .service("initial").dateTime(dateTime).build();
+        bookings.add(booking);
+        return booking;
+    }
+
+    private List<UUID> sentIds() {
+        return sent.stream().flatMap(List::stream).map(BookingReminder::bookingId).toList();
+    }
+
+    private static BookingTime time(Booking booking) {
+        return new BookingTime() {
+            @Override
+            public UUID getId() {
+                return booking.getId();
+            }
+
+            @Override
+            public String getService() {
+                return booking.getService();
+            }
+
+            @Override
+            public LocalDateTime getDateTime() {
+                return booking.getDateTime();
+            }
+        };
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
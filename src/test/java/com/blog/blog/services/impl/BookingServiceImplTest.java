@@ -0,0 +1,98 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.BookingPage;
+import com.blog.blog.domain.dtos.BookingDayCountDto;
+import com.blog.blog.domain.dtos.BookingResponseDto;
+import com.blog.blog.domain.entities.Booking;
+import com.blog.blog.mappers.BookingMapperImpl;
+import com.blog.blog.services.BookingAvailabilityService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({BookingServiceImpl.class, BookingMapperImpl.class})
+class BookingServiceImplTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 3, 4, 9, 0);
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private BookingAvailabilityService bookingAvailabilityService;
+
+    @MockitoBean
+    private BookingReminderScheduler bookingReminderScheduler;
+
+    @BeforeEach
+    void setUp() {
+        // three a day for three days, two at the same time each morning so the id has to break the tie
+        for (int day = 0; day < 3; day++) {
+            persist(MONDAY.plusDays(day), true);
+            persist(MONDAY.plusDays(day), false);
+            persist(MONDAY.plusDays(day).plusHours(3), day == 0);
+        }
+        persist(MONDAY.plusDays(3), true); // outside every range below
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void cursorPagesThroughTheRangeOnceInOrder() {
+        List<BookingResponseDto> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            BookingPage page = bookingService.getBookings(MONDAY, MONDAY.plusDays(3), null, cursor, 2);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(5);
+        assertThat(seen).hasSize(9);
+        assertThat(seen).extracting(BookingResponseDto::getId).doesNotHaveDuplicates();
+        assertThat(seen).extracting(BookingResponseDto::getDateTime).isSorted();
+    }
+
+    @Test
+    void filtersByConfirmation() {
+        BookingPage confirmed = bookingService.getBookings(MONDAY, MONDAY.plusDays(3), true, null, 50);
+        BookingPage unconfirmed = bookingService.getBookings(MONDAY, MONDAY.plusDays(3), false, null, 50);
+
+        assertThat(confirmed.getItems()).hasSize(4).allMatch(BookingResponseDto::isConfirmed);
+        assertThat(unconfirmed.getItems()).hasSize(5).noneMatch(BookingResponseDto::isConfirmed);
+        assertThat(confirmed.getNextCursor()).isNull();
+    }
+
+    @Test
+    void countsPerDayWithConfirmedOnes() {
+        List<BookingDayCountDto> days = bookingService.countBookingsByDay(
+                MONDAY.toLocalDate(), MONDAY.toLocalDate().plusDays(3));
+
+        assertThat(days).containsExactly(
+                new BookingDayCountDto(LocalDate.of(2030, 3, 4), 3, 2),
+                new BookingDayCountDto(LocalDate.of(2030, 3, 5), 3, 1),
+                new BookingDayCountDto(LocalDate.of(2030, 3, 6), 3, 1));
+    }
+
+    private void persist(LocalDateTime dateTime, boolean confirmed) {
+        entityManager.persist(Booking.builder().name("client").email("client@example.com").service("initial")
+                .dateTime(dateTime).confirmed(confirmed).build());
+    }
+}
@@ -0,0 +1,98 @@
+package com.blog.blog.services.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexWorkerTest {
+
+    private final List<String> applied = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failingRebuilds = new AtomicInteger();
+    private final IndexWorker worker = new IndexWorker("test-indexer", this::rebuild, Duration.ofMillis(10));
+
+    @AfterEach
+    void shutdown() {
+        worker.shutdown();
+    }
+
+    @Test
+    void appliesChangesInTheOrderTheyWereSubmitted() throws InterruptedException {
+        worker.submit(() -> applied.add("first"));
+        worker.submit(() -> applied.add("second"));
+        awaitIdle();
+
+        assertThat(applied).containsExactly("first", "second");
+    }
+
+    @Test
+    void aFailedChangeIsFollowedByARebuild() throws InterruptedException {
+        worker.submit(() -> {
+            throw new IllegalStateException("database down");
+        });
+        worker.submit(() -> applied.add("next"));
+        awaitRebuilds(1);
+
+        assertThat(applied).containsExactly("next", "rebuild");
+    }
+
+    @Test
+    void aFailedRebuildIsRetriedUntilItSucceeds() throws InterruptedException {
+        failingRebuilds.set(2);
+
+        worker.rebuild();
+        awaitRebuilds(1);
+
+        assertThat(failingRebuilds).hasValue(0);
+        assertThat(applied).containsExactly("rebuild");
+    }
+
+    @Test
+    void rebuildsRequestedWhileOneIsWaitingRunOnce() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        worker.submit(() -> await(blocked));
+        worker.rebuild();
+        worker.rebuild();
+        worker.rebuild();
+        blocked.countDown();
+        awaitRebuilds(1);
+        awaitIdle();
+
+        assertThat(applied).containsExactly("rebuild");
+    }
+
+    private void rebuild() {
+        if (failingRebuilds.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+            throw new IllegalStateException("database down");
+        }
+        applied.add("rebuild");
+    }
+
+    private void awaitRebuilds(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (applied.stream().filter("rebuild"::equals).count() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        CountDownLatch idle = new CountDownLatch(1);
+        worker.submit(idle::countDown);
+        assertThat(idle.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
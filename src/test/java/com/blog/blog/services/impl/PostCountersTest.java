@@ -0,0 +1,181 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.CreatePostRequest;
+import com.blog.blog.domain.PostStatus;
+import com.blog.blog.domain.UpdatePostRequest;
+import com.blog.blog.domain.entities.Category;
+import com.blog.blog.domain.entities.Post;
+import com.blog.blog.domain.entities.Tag;
+import com.blog.blog.domain.entities.User;
+import com.blog.blog.mappers.PostMapperImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the published post counts on categories and tags, moved by every write and repaired by the reconciliation job
+@DataJpaTest
+@Import({PostServiceImpl.class, CategoryServiceImpl.class, TagServiceImpl.class, PostMapperImpl.class,
+        PostCounterReconciliationJob.class, CollectionVersions.class})
+class PostCountersTest {
+
+    @Autowired
+    private PostServiceImpl postService;
+
+    @Autowired
+    private PostCounterReconciliationJob reconciliationJob;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User author;
+    private Category nutrition;
+    private Category sport;
+    private Tag vegan;
+    private Tag protein;
+    private Tag recovery;
+
+    @BeforeEach
+    void setUp() {
+        author = persist(User.builder().name("author").email("author@blog.com").password("x").build());
+        nutrition = persist(Category.builder().name("nutrition").build());
+        sport = persist(Category.builder().name("sport").build());
+        vegan = persist(Tag.builder().name("vegan").build());
+        protein = persist(Tag.builder().name("protein").build());
+        recovery = persist(Tag.builder().name("recovery").build());
+        entityManager.flush();
+    }
+
+    @Test
+    void createCountsPublishedPostsOnly() {
+        create(PostStatus.PUBLISHED, nutrition, vegan, protein);
+        create(PostStatus.DRAFT, nutrition, vegan);
+
+        assertCounts(1, 0, 1, 1, 0);
+    }
+
+    @Test
+    void publishingAndUnpublishingMoveTheCounts() {
+        Post post = create(PostStatus.DRAFT, nutrition, vegan);
+        assertCounts(0, 0, 0, 0, 0);
+
+        update(post, PostStatus.PUBLISHED, nutrition, vegan);
+        assertCounts(1, 0, 1, 0, 0);
+
+        update(post, PostStatus.DRAFT, nutrition, vegan);
+        assertCounts(0, 0, 0, 0, 0);
+    }
+
+    @Test
+    void movingAPublishedPostMovesItsCounts() {
+        Post post = create(PostStatus.PUBLISHED, nutrition, vegan, protein);
+
+        update(post, PostStatus.PUBLISHED, sport, protein, recovery);
+
+        assertCounts(0, 1, 0, 1, 1);
+    }
+
+    @Test
+    void deleteUncountsAPublishedPost() {
+        Post published = create(PostStatus.PUBLISHED, nutrition, vegan);
+        Post draft = create(PostStatus.DRAFT, nutrition, vegan);
+
+        postService.deletePost(draft.getId());
+        assertCounts(1, 0, 1, 0, 0);
+
+        postService.deletePost(published.getId());
+        assertCounts(0, 0, 0, 0, 0);
+    }
+
+    @Test
+    void importCountsABatchOnce() {
+        postService.importPosts(author, List.of(
+                request(PostStatus.PUBLISHED, nutrition, vegan, protein),
+                request(PostStatus.PUBLISHED, nutrition, vegan),
+                request(PostStatus.PUBLISHED, sport, recovery),
+                request(PostStatus.DRAFT, sport, vegan)));
+
+        assertCounts(2, 1, 2, 1, 1);
+    }
+
+    @Test
+    void reconciliationRepairsDriftedCounts() {
+        create(PostStatus.PUBLISHED, nutrition, vegan, protein);
+        create(PostStatus.PUBLISHED, sport, vegan);
+        // drift the way manual sql would, behind the service's back
+        entityManager.createQuery("UPDATE Category c SET c.postCount = 7 WHERE c.id = :id").setParameter("id", nutrition.getId()).executeUpdate();
+        entityManager.createQuery("UPDATE Tag t SET t.postCount = 0 WHERE t.id = :id").setParameter("id", vegan.getId()).executeUpdate();
+        long categoriesVersion = collectionVersions.current(CollectionVersions.Collection.CATEGORIES).number();
+        long tagsVersion = collectionVersions.current(CollectionVersions.Collection.TAGS).number();
+
+        reconciliationJob.reconcile();
+
+        assertCounts(1, 1, 2, 1, 0);
+        assertThat(collectionVersions.current(CollectionVersions.Collection.CATEGORIES).number()).isEqualTo(categoriesVersion + 1);
+        assertThat(collectionVersions.current(CollectionVersions.Collection.TAGS).number()).isEqualTo(tagsVersion + 1);
+
+        reconciliationJob.reconcile();
+        assertThat(collectionVersions.current(CollectionVersions.Collection.CATEGORIES).number()).isEqualTo(categoriesVersion + 1);
+    }
+
+    private Post create(PostStatus status, Category category, Tag... tags) {
+        Post post = postService.createPost(author, request(status, category, tags));
+        entityManager.flush();
+        entityManager.clear();
+        return post;
+    }
+
+    private void update(Post post, PostStatus status, Category category, Tag... tags) {
+        postService.updatePost(post.getId(), UpdatePostRequest.builder()
+                .title(post.getTitle())
+                .content("<p>edited content</p>")
+                .status(status)
+                .categoryId(category.getId())
+                .tagIds(ids(tags))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static CreatePostRequest request(PostStatus status, Category category, Tag... tags) {
+        return CreatePostRequest.builder()
+                .title("A post")
+                .content("<p>some content</p>")
+                .status(status)
+                .categoryId(category.getId())
+                .tagIds(ids(tags))
+                .build();
+    }
+
+    private static Set<UUID> ids(Tag... tags) {
+        return Arrays.stream(tags).map(Tag::getId).collect(Collectors.toSet());
+    }
+
+    private void assertCounts(long nutritionCount, long sportCount, int veganCount, int proteinCount, int recoveryCount) {
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(entityManager.find(Category.class, nutrition.getId()).getPostCount()).as("nutrition").isEqualTo(nutritionCount);
+        assertThat(entityManager.find(Category.class, sport.getId()).getPostCount()).as("sport").isEqualTo(sportCount);
+        assertThat(entityManager.find(Tag.class, vegan.getId()).getPostCount()).as("vegan").isEqualTo(veganCount);
+        assertThat(entityManager.find(Tag.class, protein.getId()).getPostCount()).as("protein").isEqualTo(proteinCount);
+        assertThat(entityManager.find(Tag.class, recovery.getId()).getPostCount()).as("recovery").isEqualTo(recoveryCount);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,183 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.CreatePostRequest;
+import com.blog.blog.domain.dtos.ImportProgressDto;
+import com.blog.blog.domain.entities.Category;
+import com.blog.blog.domain.entities.Post;
+import com.blog.blog.domain.entities.Tag;
+import com.blog.blog.domain.entities.User;
+import com.blog.blog.services.CategoryService;
+import com.blog.blog.services.PostService;
+import com.blog.blog.services.TagService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostImportServiceImplTest {
+
+    private static final User AUTHOR = User.builder().id(UUID.randomUUID()).name("admin").build();
+    private static final Category NUTRITION = Category.builder().id(UUID.randomUUID()).name("nutrition").build();
+
+    private final PostService postService = mock(PostService.class);
+    private final CategoryService categoryService = mock(CategoryService.class);
+    private final TagService tagService = mock(TagService.class);
+    private final List<List<CreatePostRequest>> saved = new ArrayList<>();
+    private final List<ImportProgressDto> progress = new ArrayList<>();
+    private ImportProgressDto finalReport;
+    private int failingBatch = -1;
+    private int batches;
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final PostImportServiceImpl importService = new PostImportServiceImpl(postService, categoryService, tagService,
+            new ObjectMapper().findAndRegisterModules(), Validation.buildDefaultValidatorFactory().getValidator(),
+            new TransactionTemplate(transactionManager), 2);
+
+    PostImportServiceImplTest() {
+        when(categoryService.getCategoriesByNames(anySet())).thenAnswer(invocation -> {
+            Set<String> names = invocation.getArgument(0);
+            return names.contains(NUTRITION.getName()) ? List.of(NUTRITION) : List.of();
+        });
+        when(tagService.createTags(anySet())).thenAnswer(invocation -> {
+            Collection<String> names = invocation.getArgument(0);
+            return names.stream().map(name -> Tag.builder().id(UUID.randomUUID()).name(name).build()).toList();
+        });
+        when(postService.importPosts(any(), any())).thenAnswer(invocation -> {
+            List<CreatePostRequest> requests = invocation.getArgument(1);
+            if (batches++ == failingBatch) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            saved.add(requests);
+            return requests.stream().map(request -> new Post()).toList();
+        });
+    }
+
+    @Test
+    void reportsLinesThatAreNotJson() throws IOException {
+        ImportProgressDto summary = importLines(post("First post"), "{not json", post("Second post"));
+
+        assertThat(summary.getLines()).isEqualTo(3);
+        assertThat(summary.getImported()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(errors()).singleElement().asString().startsWith("line 2: not a valid post");
+    }
+
+    @Test
+    void appliesTheSameConstraintsAsTheEditor() throws IOException {
+        String tooManyTags = "{\"title\":\"Tagged post\",\"content\":\"long enough content\",\"categoryName\":\"nutrition\",\"tagNames\":"
+                + "[\"a\",\"b\",\"c\",\"d\",\"e\",\"f\",\"g\",\"h\",\"i\",\"j\",\"k\"]}";
+        ImportProgressDto summary = importLines(
+                "{\"title\":\"ab\",\"content\":\"long enough content\",\"categoryName\":\"nutrition\"}",
+                "{\"title\":\"Short content\",\"content\":\"too short\",\"categoryName\":\"nutrition\"}",
+                tooManyTags,
+                "{\"title\":\"No category\",\"content\":\"long enough content\"}",
+                "{\"title\":\"Unknown category\",\"content\":\"long enough content\",\"categoryName\":\"sports\"}",
+                post("Valid post"));
+
+        assertThat(summary.getImported()).isEqualTo(1);
+        assertThat(summary.getFailed()).isEqualTo(5);
+        assertThat(errors()).containsExactly(
+                "line 1: Title must be between 3 and 200 characters",
+                "line 2: Content must be between 10 and 100000 characters",
+                "line 3: Maximum 10 tags are allowed",
+                "line 4: Category is required",
+                "line 5: category sports does not exist");
+        assertThat(saved).flatMap(requests -> requests).singleElement()
+                .satisfies(request -> assertThat(request.getTitle()).isEqualTo("Valid post"));
+    }
+
+    @Test
+    void aFailedBatchIsCountedAsFailedAndTheImportGoesOn() throws IOException {
+        failingBatch = 1;
+
+        ImportProgressDto summary = importLines(post("One"), post("Two"), post("Three"), post("Four"), post("Five"));
+
+        assertThat(summary.isFinished()).isTrue();
+        assertThat(summary.getLines()).isEqualTo(5);
+        assertThat(summary.getImported()).isEqualTo(3);
+        assertThat(summary.getFailed()).isEqualTo(2);
+        assertThat(errors()).containsExactly("lines 3-4: batch not saved (duplicate key)");
+        assertThat(saved).extracting(List::size).containsExactly(2, 1);
+    }
+
+    @Test
+    void failuresResolvingCategoriesOrTagsFailOnlyTheirBatch() throws IOException {
+        when(tagService.createTags(argThat(names -> names.contains("broken")))).thenThrow(new IllegalStateException("tag insert failed"));
+        when(categoryService.getCategoriesByNames(argThat(names -> names.contains("gone")))).thenThrow(new EntityNotFoundException("category gone"));
+
+        ImportProgressDto summary = importLines(
+                post("One"), "{\"title\":\"Two\",\"content\":\"long enough content\",\"categoryName\":\"nutrition\",\"tagNames\":[\"broken\"]}",
+                "{\"title\":\"Three\",\"content\":\"long enough content\",\"categoryName\":\"gone\"}", post("Four"),
+                post("Five"));
+
+        assertThat(summary.getImported()).isEqualTo(1);
+        assertThat(summary.getFailed()).isEqualTo(4);
+        assertThat(errors()).containsExactly(
+                "lines 1-2: batch not saved (tag insert failed)",
+                "lines 3-4: batch not saved (category gone)");
+    }
+
+    @Test
+    void tagsAreCreatedInTheTransactionOfTheirBatch() throws IOException {
+        failingBatch = 0;
+
+        importLines(post("One"), post("Two"));
+
+        // the tags of the failed batch go with the rollback instead of being left behind
+        InOrder order = inOrder(transactionManager, tagService, postService);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(tagService).createTags(anySet());
+        order.verify(postService).importPosts(any(), any());
+        order.verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void reportsEachFullBatchAndReturnsTheTotals() throws IOException {
+        ImportProgressDto summary = importLines(post("One"), "", post("Two"), post("Three"), "{", post("Four"), post("Five"));
+
+        assertThat(progress).extracting(ImportProgressDto::getImported).containsExactly(2L, 4L);
+        assertThat(progress).noneMatch(ImportProgressDto::isFinished);
+        assertThat(summary.getLines()).isEqualTo(7);
+        assertThat(summary.getImported()).isEqualTo(5);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(summary.isFinished()).isTrue();
+    }
+
+    private ImportProgressDto importLines(String... lines) throws IOException {
+        byte[] ndjson = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        finalReport = importService.importPosts(AUTHOR, new ByteArrayInputStream(ndjson), progress::add);
+        return finalReport;
+    }
+
+    private List<String> errors() {
+        List<String> errors = new ArrayList<>();
+        progress.forEach(report -> errors.addAll(report.getErrors()));
+        errors.addAll(finalReport.getErrors());
+        return errors;
+    }
+
+    private static String post(String title) {
+        return "{\"title\":\"" + title + "\",\"content\":\"long enough content\",\"categoryName\":\"nutrition\",\"tagNames\":[\"diet\"]}";
+    }
+}
@@ -0,0 +1,152 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.PostListing;
+import com.blog.blog.domain.PostSnapshot;
+import com.blog.blog.domain.PostStatus;
+import com.blog.blog.domain.events.PostChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostListingCacheTest {
+
+    private static final UUID NUTRITION = UUID.randomUUID();
+    private static final UUID SPORT = UUID.randomUUID();
+    private static final UUID VEGAN = UUID.randomUUID();
+
+    private final PostListingCache cache = new PostListingCache(100, Duration.ofMinutes(5));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void publishingEvictsThePagesThePostShowsUpIn() {
+        cacheAll();
+
+        cache.onPostChanged(new PostChangedEvent(UUID.randomUUID(), PostSnapshot.NONE, published(NUTRITION, VEGAN)));
+
+        assertThat(reloaded()).containsExactly("all", "nutrition", "nutrition+vegan", "vegan");
+    }
+
+    @Test
+    void editingEvictsThePagesOfTheOldAndTheNewPlace() {
+        cacheAll();
+
+        cache.onPostChanged(new PostChangedEvent(UUID.randomUUID(), published(NUTRITION, VEGAN), published(SPORT)));
+
+        assertThat(reloaded()).containsExactly("all", "nutrition", "sport", "nutrition+vegan", "vegan", "sport+vegan");
+    }
+
+    @Test
+    void deletingEvictsThePagesThePostWasIn() {
+        cacheAll();
+
+        cache.onPostChanged(new PostChangedEvent(UUID.randomUUID(), published(SPORT), PostSnapshot.NONE));
+
+        assertThat(reloaded()).containsExactly("all", "sport");
+    }
+
+    @Test
+    void draftEditsEvictNothing() {
+        cacheAll();
+
+        cache.onPostChanged(new PostChangedEvent(UUID.randomUUID(), draft(NUTRITION), draft(SPORT)));
+
+        assertThat(reloaded()).isEmpty();
+    }
+
+    @Test
+    void aLoadRacingAWriteIsNotServedUnderTheNewVersion() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        CompletableFuture<PostListing<String>> stale = CompletableFuture.supplyAsync(() -> cache.get(listingKey(null, null, 1), () -> {
+            loading.countDown();
+            await(committed);
+            return new PostListing<>(List.of("before the write"), null);
+        }));
+        loading.await();
+        // the write commits while the page is still loading: caffeine skips the entry being computed
+        cache.onPostChanged(new PostChangedEvent(UUID.randomUUID(), PostSnapshot.NONE, published(NUTRITION)));
+        committed.countDown();
+        assertThat(stale.get().getItems()).containsExactly("before the write");
+
+        PostListing<String> fresh = cache.get(listingKey(null, null, 2), () -> new PostListing<>(List.of("after the write"), null));
+
+        assertThat(fresh.getItems()).containsExactly("after the write");
+    }
+
+    // one page per filter, then which of them had to be loaded again
+    private void cacheAll() {
+        for (Page page : Page.values()) {
+            cache.get(page.key(), () -> {
+                loads.incrementAndGet();
+                return new PostListing<>(List.of(page.label), null);
+            });
+        }
+        loads.set(0);
+    }
+
+    private List<String> reloaded() {
+        return Arrays.stream(Page.values())
+                .filter(page -> {
+                    int before = loads.get();
+                    cache.get(page.key(), () -> {
+                        loads.incrementAndGet();
+                        return new PostListing<>(List.of(page.label), null);
+                    });
+                    return loads.get() > before;
+                })
+                .map(page -> page.label)
+                .toList();
+    }
+
+    private static PostListingCache.Key listingKey(UUID categoryId, UUID tagId, long version) {
+        return new PostListingCache.Key("full", categoryId, tagId, "0", 5, version);
+    }
+
+    private static PostSnapshot published(UUID categoryId, UUID... tagIds) {
+        return new PostSnapshot(PostStatus.PUBLISHED, categoryId, Set.of(tagIds));
+    }
+
+    private static PostSnapshot draft(UUID categoryId) {
+        return new PostSnapshot(PostStatus.DRAFT, categoryId, Set.of());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private enum Page {
+        ALL("all", null, null),
+        NUTRITION_PAGE("nutrition", NUTRITION, null),
+        SPORT_PAGE("sport", SPORT, null),
+        NUTRITION_VEGAN("nutrition+vegan", NUTRITION, VEGAN),
+        VEGAN_PAGE("vegan", null, VEGAN),
+        SPORT_VEGAN("sport+vegan", SPORT, VEGAN);
+
+        private final String label;
+        private final UUID categoryId;
+        private final UUID tagId;
+
+        Page(String label, UUID categoryId, UUID tagId) {
+            this.label = label;
+            this.categoryId = categoryId;
+            this.tagId = tagId;
+        }
+
+        PostListingCache.Key key() {
+            return listingKey(categoryId, tagId, 1);
+        }
+    }
+}
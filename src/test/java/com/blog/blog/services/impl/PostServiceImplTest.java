@@ -0,0 +1,89 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.PostStatus;
+import com.blog.blog.domain.dtos.PostDto;
+import com.blog.blog.domain.entities.Category;
+import com.blog.blog.domain.entities.Post;
+import com.blog.blog.domain.entities.Tag;
+import com.blog.blog.domain.entities.User;
+import com.blog.blog.mappers.PostMapperImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({PostServiceImpl.class, CategoryServiceImpl.class, TagServiceImpl.class, PostMapperImpl.class})
+class PostServiceImplTest {
+
+    @Autowired
+    private PostServiceImpl postService;
+
+    @Autowired
+    private PostMapperImpl postMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // several authors, categories and tags so every association really has to be loaded
+        for (int i = 0; i < 50; i++) {
+            User author = persist(User.builder().name("author" + i).email("author" + i + "@blog.com").password("x").build());
+            Category category = persist(Category.builder().name("category" + i).build());
+            Tag first = persist(Tag.builder().name("tag-a" + i).build());
+            Tag second = persist(Tag.builder().name("tag-b" + i).build());
+            persist(Post.builder()
+                    .title("post" + i)
+                    .content("<p>content " + i + "</p>")
+                    .status(PostStatus.PUBLISHED)
+                    .readingTime(1)
+                    .author(author)
+                    .category(category)
+                    .tags(Set.of(first, second))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listingStatementCountDoesNotGrowWithPageSize() {
+        long smallPage = countStatementsForListing(5);
+        long fullPage = countStatementsForListing(50);
+
+        assertThat(fullPage).isEqualTo(smallPage);
+        assertThat(fullPage).isLessThanOrEqualTo(4); // posts, authors, categories, tags
+    }
+
+    private long countStatementsForListing(int size) {
+        entityManager.clear();
+        statistics.clear();
+        List<PostDto> postDtos = postService.getAllPosts(null, null, ScrollPosition.offset(), size)
+                .stream()
+                .map(postMapper::toDto)
+                .toList();
+        assertThat(postDtos).hasSize(size);
+        assertThat(postDtos).allSatisfy(postDto -> assertThat(postDto.getTags()).hasSize(2));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,117 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.PostSnapshot;
+import com.blog.blog.domain.events.PostChangedEvent;
+import com.blog.blog.services.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class PostViewCounterTest {
+
+    private final PostService postService = mock(PostService.class);
+    private final PostViewCounter counter = new PostViewCounter(postService, mock(ApplicationEventPublisher.class));
+    private final Map<UUID, Long> written = new ConcurrentHashMap<>();
+
+    @Test
+    void noViewIsLostWhileFlushingConcurrently() throws InterruptedException {
+        recordWrites();
+        UUID[] posts = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            readers.execute(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    counter.record(posts[i % posts.length]);
+                }
+            });
+        }
+        readers.shutdown();
+        while (!readers.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            counter.flush();
+        }
+        counter.flush();
+
+        assertThat(written.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(160_000);
+    }
+
+    @Test
+    void failedWriteIsRetriedOnTheNextFlush() {
+        UUID post = UUID.randomUUID();
+        counter.record(post);
+        counter.record(post);
+        doThrow(new IllegalStateException("db down")).when(postService).addViews(anyMap());
+        counter.flush();
+        assertThat(counter.pendingViews(post)).isEqualTo(2);
+
+        recordWrites();
+        counter.record(post);
+        counter.flush();
+        assertThat(written).containsEntry(post, 3L);
+        assertThat(counter.pendingViews(post)).isZero();
+    }
+
+    @Test
+    void noViewIsLostWhileIdleAddersAreDropped() throws InterruptedException {
+        recordWrites();
+        UUID[] posts = new UUID[500];
+        for (int i = 0; i < posts.length; i++) {
+            posts[i] = UUID.randomUUID();
+        }
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            readers.execute(() -> {
+                for (int i = 0; i < 20_000; i++) { // spread thin, so most adders go idle between flushes
+                    counter.record(posts[ThreadLocalRandom.current().nextInt(posts.length)]);
+                }
+            });
+        }
+        readers.shutdown();
+        while (!readers.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            counter.flush();
+        }
+        counter.flush();
+        counter.flush();
+
+        assertThat(written.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(160_000);
+        assertThat(counter.trackedPosts()).isZero();
+    }
+
+    @Test
+    void idleAndDeletedPostsAreLetGo() {
+        recordWrites();
+        UUID kept = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        counter.record(kept);
+        counter.record(deleted);
+
+        counter.onPostChanged(new PostChangedEvent(deleted, PostSnapshot.NONE, PostSnapshot.NONE));
+        counter.record(deleted); // a view racing the delete
+        counter.flush();
+        assertThat(written).containsEntry(kept, 1L).containsEntry(deleted, 1L);
+        assertThat(counter.trackedPosts()).isEqualTo(2);
+
+        counter.flush();
+        assertThat(counter.trackedPosts()).isZero();
+    }
+
+    private void recordWrites() {
+        doAnswer(invocation -> {
+            Map<UUID, Long> views = invocation.getArgument(0);
+            views.forEach((id, count) -> written.merge(id, count, Long::sum));
+            return null;
+        }).when(postService).addViews(anyMap());
+    }
+}
@@ -0,0 +1,124 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.domain.PostActivity;
+import com.blog.blog.domain.events.PostViewsRecordedEvent;
+import com.blog.blog.repositories.PostRepository;
+import com.blog.blog.services.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrendingPostServiceImplTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.now().minusDays(1);
+
+    private final PostService postService = mock(PostService.class);
+    private final PublishedPostScanner scanner = mock(PublishedPostScanner.class);
+    private final TrendingPostServiceImpl trending = new TrendingPostServiceImpl(mock(PostRepository.class), postService, scanner,
+            10, Duration.ofHours(24), 20, 500, Duration.ofMillis(10));
+    private final UUID read = UUID.randomUUID();
+    private final UUID other = UUID.randomUUID();
+
+    TrendingPostServiceImplTest() {
+        when(postService.getPublishedSummaries(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void shutdown() {
+        trending.shutdown();
+    }
+
+    @Test
+    void viewsFlushedWhileSeedingAreCountedOnce() throws InterruptedException {
+        // the first post's total already includes the flush that lands while the seed is running
+        onScan(posts -> {
+            posts.accept(List.of(activity(read, 10), activity(other, 12)));
+            trending.onPostViewsRecorded(new PostViewsRecordedEvent(Map.of(read, 5L)));
+        });
+
+        trending.onApplicationReady();
+
+        assertThat(awaitTop()).containsExactly(other, read);
+    }
+
+    @Test
+    void aFailedSeedIsRetried() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        onScan(posts -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("database down");
+            }
+            posts.accept(List.of(activity(read, 3)));
+        });
+
+        trending.onApplicationReady();
+
+        assertThat(awaitTop()).containsExactly(read);
+        assertThat(attempts).hasValue(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onScan(Consumer<Consumer<List<PostActivity>>> scan) {
+        doAnswer(invocation -> {
+            scan.accept(invocation.getArgument(2));
+            return null;
+        }).when(scanner).scan(eq(PostActivity.class), anyInt(), any(Consumer.class));
+    }
+
+    // the ranking is seeded in the background, so wait until it answers
+    private List<UUID> awaitTop() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<UUID> top = List.of();
+        while (top.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            top = topIds();
+        }
+        return top;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UUID> topIds() {
+        List<UUID>[] ids = new List[1];
+        when(postService.getPublishedSummaries(any())).thenAnswer(invocation -> {
+            ids[0] = invocation.getArgument(0);
+            return List.of();
+        });
+        trending.getTrending(10);
+        return ids[0];
+    }
+
+    private static PostActivity activity(UUID id, long viewCount) {
+        return new PostActivity() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return CREATED_AT;
+            }
+
+            @Override
+            public long getViewCount() {
+                return viewCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.blog.blog.services.impl;
+
+import com.blog.blog.security.BlogUserDetails;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerifiedTokenCacheTest {
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(100, Duration.ofMinutes(5));
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final UserDetails user = BlogUserDetails.fromClaims(UUID.randomUUID(), "a@b.c", "Ann", false);
+
+    @Test
+    void verifiesEachTokenOnce() {
+        Function<String, VerifiedTokenCache.Verified> verifier = verifier(System.currentTimeMillis() + 60_000);
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.get("token-a", verifier).userDetails()).isSameAs(user);
+        }
+        cache.get("token-b", verifier);
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void expiredTokensAreNotKept() {
+        Function<String, VerifiedTokenCache.Verified> verifier = verifier(System.currentTimeMillis() - 1);
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void failedVerificationIsNotCached() {
+        Function<String, VerifiedTokenCache.Verified> failing = token -> {
+            verifications.incrementAndGet();
+            throw new IllegalArgumentException("bad signature");
+        };
+        assertThatThrownBy(() -> cache.get("token", failing)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.get("token", failing)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(verifications).hasValue(2);
+    }
+
+    private Function<String, VerifiedTokenCache.Verified> verifier(long expiresAtMillis) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new VerifiedTokenCache.Verified(user, UUID.randomUUID(), UUID.randomUUID(), expiresAtMillis);
+        };
+    }
+}
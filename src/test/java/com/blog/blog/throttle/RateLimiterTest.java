@@ -0,0 +1,49 @@
+package com.blog.blog.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimiter limiter = new RateLimiter(3, Duration.ofSeconds(1), 100);
+
+    @Test
+    void allowsABurstThenOneTokenPerInterval() {
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("ip", now)).isZero();
+        }
+        assertThat(limiter.tryAcquire("ip", now)).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire("ip", now + SECOND / 2)).isEqualTo(SECOND / 2);
+
+        assertThat(limiter.tryAcquire("ip", now + SECOND)).isZero();
+        assertThat(limiter.tryAcquire("ip", now + SECOND)).isPositive();
+    }
+
+    @Test
+    void refillsUpToCapacityOnly() {
+        long now = 1_000 * SECOND;
+        limiter.tryAcquire("ip", now);
+        long later = now + 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("ip", later)).isZero();
+        }
+        assertThat(limiter.tryAcquire("ip", later)).isPositive();
+    }
+
+    @Test
+    void keysHaveTheirOwnBuckets() {
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a", now);
+        }
+        assertThat(limiter.tryAcquire("a", now)).isPositive();
+        assertThat(limiter.tryAcquire("b", now)).isZero();
+    }
+}
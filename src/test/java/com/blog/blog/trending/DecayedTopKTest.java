@@ -0,0 +1,68 @@
+package com.blog.blog.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecayedTopKTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    @Test
+    void olderEventsCountLessByTheHalfLife() {
+        DecayedTopK ranking = new DecayedTopK(10, Duration.ofHours(1), 0);
+        UUID old = UUID.randomUUID();
+        UUID recent = UUID.randomUUID();
+        ranking.track(old);
+        ranking.track(recent);
+
+        ranking.add(old, 3, 0);
+        ranking.add(recent, 2, HOUR); // 3 views an hour earlier are worth 1.5 now
+        assertThat(ranking.top(2)).containsExactly(recent, old);
+
+        ranking.add(old, 1, HOUR);
+        assertThat(ranking.top(2)).containsExactly(old, recent);
+    }
+
+    @Test
+    void keepsOnlyTheBestAndRefillsAfterRemoval() {
+        DecayedTopK ranking = new DecayedTopK(2, Duration.ofHours(1), 0);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        for (UUID id : new UUID[]{a, b, c}) {
+            ranking.track(id);
+        }
+        ranking.add(a, 1, 0);
+        ranking.add(b, 2, 0);
+        ranking.add(c, 3, 0);
+        assertThat(ranking.top(5)).containsExactly(c, b);
+
+        ranking.remove(c);
+        assertThat(ranking.top(5)).containsExactly(b, a);
+        assertThat(ranking.add(c, 100, 0)).isFalse();
+    }
+
+    @Test
+    void spreadViewsWeighLessThanTheSameViewsNow() {
+        DecayedTopK ranking = new DecayedTopK(10, Duration.ofHours(1), 0);
+        UUID spread = UUID.randomUUID();
+        UUID now = UUID.randomUUID();
+        ranking.track(spread);
+        ranking.track(now);
+
+        ranking.addSpread(spread, 10, 0, 10 * HOUR);
+        ranking.add(now, 2, 10 * HOUR); // ten views over ten hours are worth about 1.44 at the end
+        assertThat(ranking.top(2)).containsExactly(now, spread);
+    }
+
+    @Test
+    void untrackedPostsAreIgnored() {
+        DecayedTopK ranking = new DecayedTopK(10, Duration.ofHours(1), 0);
+        assertThat(ranking.add(UUID.randomUUID(), 1, 0)).isFalse();
+        assertThat(ranking.top(10)).isEmpty();
+    }
+}